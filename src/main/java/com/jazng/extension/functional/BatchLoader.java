@@ -0,0 +1,247 @@
+package com.jazng.extension.functional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author JJ_yo
+ * 批量加载器
+ * 把并发的单个key查询合并成一次批量查询：第一个key到达后开始计时，达到maxBatchSize或等待maxDelay后，
+ * 把这段时间内的所有key（去重后）交给批量函数执行一次，每个调用方拿到自己key的结果或批量函数抛出的原始异常。
+ * 批量函数返回的Map中没有的key，结果为null
+ * 例：
+ * BatchLoader&lt;Long, User&gt; loader = BatchLoader.of(userDao::findByIds, 100, Duration.ofMillis(2), executor);
+ * JFunction&lt;Long, User&gt; findUser = loader.asFunction();
+ * 2026-10-19 17:10
+ * @version: 1.0
+ */
+public final class BatchLoader<K, V> {
+
+    private final JFunction<? super List<K>, ? extends Map<K, ? extends V>> batchFunction;
+
+    private final int maxBatchSize;
+
+    private final long maxDelayNanos;
+
+    private final Executor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Map<K, CompletableFuture<V>> pending;
+
+    private BatchLoader(JFunction<? super List<K>, ? extends Map<K, ? extends V>> batchFunction, int maxBatchSize,
+                        Duration maxDelay, Executor executor) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize必须大于0");
+        }
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("maxDelay不能为负数");
+        }
+        this.batchFunction = Objects.requireNonNull(batchFunction);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * 创建批量加载器
+     *
+     * @param batchFunction 批量函数，参数为去重后的key，返回key到结果的映射
+     * @param maxBatchSize  每批最多的key数量，达到后立即执行
+     * @param maxDelay      第一个key到达后最多等待的时间；为0时在executor执行到该批次时立即执行，期间到达的key合并在一起
+     * @param executor      执行批量函数的线程池
+     * @param <K>           泛型
+     * @param <V>           泛型
+     * @return 返回值
+     */
+    public static <K, V> BatchLoader<K, V> of(JFunction<? super List<K>, ? extends Map<K, ? extends V>> batchFunction,
+                                              int maxBatchSize, Duration maxDelay, Executor executor) {
+        return new BatchLoader<>(batchFunction, maxBatchSize, maxDelay, executor);
+    }
+
+    /**
+     * 异步加载key，与同一窗口内的其它key合并成一次批量调用；同一窗口内相同的key共享同一个结果，
+     * 但每个调用方得到各自的CompletableFuture，对其complete()/cancel()不会影响其它调用方
+     *
+     * @param key key
+     * @return 返回值，异常完成时的原因为批量函数抛出的原始异常
+     */
+    public CompletableFuture<V> loadAsync(K key) {
+        Map<K, CompletableFuture<V>> full = null;
+        Map<K, CompletableFuture<V>> opened = null;
+        CompletableFuture<V> future;
+        lock.lock();
+        try {
+            if (pending == null) {
+                pending = new LinkedHashMap<>();
+                opened = pending;
+            }
+            future = pending.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(key, future);
+                if (pending.size() >= maxBatchSize) {
+                    full = pending;
+                    pending = null;
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        else if (opened != null) {
+            schedule(opened);
+        }
+        return FutureUtils.copy(future);
+    }
+
+    /**
+     * 异步加载多个key
+     *
+     * @param keys key
+     * @return 返回值，任一key失败时以其原始异常完成
+     */
+    public CompletableFuture<Map<K, V>> loadAllAsync(Collection<? extends K> keys) {
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>(keys.size() * 2);
+        for (K key : keys) {
+            futures.put(key, loadAsync(key));
+        }
+        CompletableFuture<Map<K, V>> result = new CompletableFuture<>();
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).whenComplete((ignored, e) -> {
+            if (e != null) {
+                result.completeExceptionally(ExceptionUtils.unwrap(e));
+                return;
+            }
+            Map<K, V> values = new LinkedHashMap<>(futures.size() * 2);
+            futures.forEach((key, future) -> values.put(key, future.join()));
+            result.complete(values);
+        });
+        return result;
+    }
+
+    /**
+     * 加载key，阻塞到所在批次执行完成
+     *
+     * @param key key
+     * @return 返回值
+     * @throws Exception 批量函数抛出的原始异常
+     */
+    public V load(K key) throws Exception {
+        return ExceptionUtils.await(loadAsync(key));
+    }
+
+    /**
+     * 单个key的查询函数，调用会被合并成批量调用
+     *
+     * @return 返回值
+     */
+    public JFunction<K, V> asFunction() {
+        return this::load;
+    }
+
+    /**
+     * 不再等待，立即执行当前窗口内的key
+     */
+    public void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        lock.lock();
+        try {
+            batch = pending;
+            pending = null;
+        }
+        finally {
+            lock.unlock();
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 窗口到期后执行窗口内的key，窗口已因达到maxBatchSize或flush()被执行时不再处理
+     */
+    private void schedule(Map<K, CompletableFuture<V>> window) {
+        if (maxDelayNanos == 0L) {
+            try {
+                executor.execute(this::flush);
+            }
+            catch (RuntimeException e) {
+                flush();
+            }
+            return;
+        }
+        Timer.SCHEDULER.schedule(() -> flushIfCurrent(window), maxDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void flushIfCurrent(Map<K, CompletableFuture<V>> window) {
+        Map<K, CompletableFuture<V>> batch = null;
+        lock.lock();
+        try {
+            if (pending == window) {
+                batch = pending;
+                pending = null;
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            executor.execute(() -> run(batch));
+        }
+        catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void run(Map<K, CompletableFuture<V>> batch) {
+        Map<K, ? extends V> values;
+        try {
+            values = Objects.requireNonNull(batchFunction.apply(new ArrayList<>(batch.keySet())), "批量函数返回了null");
+        }
+        catch (Throwable e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        batch.forEach((key, future) -> future.complete(values.get(key)));
+    }
+
+    /**
+     * 所有BatchLoader共用的计时线程，只负责到期后把批次交给各自的executor
+     */
+    private static final class Timer {
+
+        static final ScheduledExecutorService SCHEDULER;
+
+        static {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "jfunctional-batch-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            SCHEDULER = scheduler;
+        }
+    }
+}
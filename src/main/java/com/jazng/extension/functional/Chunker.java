@@ -0,0 +1,304 @@
+package com.jazng.extension.functional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author JJ_yo
+ * 分批器
+ * 把Iterator/Stream中的元素按数量、权重（如字节数）或时间分成批次，交给批量的JFunction/JConsumer处理；
+ * 批次可以通过FutureUtils.mapParallel()并行处理，批量函数返回的结果再按元素顺序展开。
+ * 一个批次在以下任一条件满足时结束：达到maxSize个元素；再加入下一个元素会超过maxWeight（单个元素超过maxWeight时单独成为一批）；
+ * 从批次的第一个元素开始已经过了maxDelay。时间在每个元素到达时检查，阻塞在上游Iterator.next()中时不会提前结束批次。
+ * Chunker不可变，可以在多处共用
+ * 例：
+ * Chunker&lt;Event&gt; chunker = Chunker.&lt;Event&gt;ofSize(500).withMaxWeight(1 &lt;&lt; 20, Event::bytes);
+ * List&lt;Long&gt; ids = chunker.mapBatchesToList(events.iterator(), eventDao::insertAll, 4, executor);
+ * 2026-10-19 21:30
+ * @version: 1.0
+ */
+public final class Chunker<T> {
+
+    private final int maxSize;
+
+    private final long maxWeight;
+
+    private final JToLongFunction<? super T> weigher;
+
+    private final long maxDelayNanos;
+
+    private Chunker(int maxSize, long maxWeight, JToLongFunction<? super T> weigher, long maxDelayNanos) {
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.maxDelayNanos = maxDelayNanos;
+    }
+
+    /**
+     * 按数量分批
+     *
+     * @param maxSize 每批最多的元素数量
+     * @param <T>     泛型
+     * @return 返回值
+     */
+    public static <T> Chunker<T> ofSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize必须大于0");
+        }
+        return new Chunker<>(maxSize, Long.MAX_VALUE, null, 0L);
+    }
+
+    /**
+     * 按权重分批，数量不限
+     *
+     * @param maxWeight       每批的权重上限
+     * @param jToLongFunction 自定义函数式接口，计算元素的权重
+     * @param <T>             泛型
+     * @return 返回值
+     */
+    public static <T> Chunker<T> ofWeight(long maxWeight, JToLongFunction<? super T> jToLongFunction) {
+        return new Chunker<T>(Integer.MAX_VALUE, Long.MAX_VALUE, null, 0L).withMaxWeight(maxWeight, jToLongFunction);
+    }
+
+    /**
+     * 修改每批最多的元素数量
+     *
+     * @param maxSize 每批最多的元素数量
+     * @return 新的Chunker
+     */
+    public Chunker<T> withMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize必须大于0");
+        }
+        return new Chunker<>(maxSize, maxWeight, weigher, maxDelayNanos);
+    }
+
+    /**
+     * 增加权重上限
+     *
+     * @param maxWeight       每批的权重上限
+     * @param jToLongFunction 自定义函数式接口，计算元素的权重，每个元素只计算一次
+     * @return 新的Chunker
+     */
+    public Chunker<T> withMaxWeight(long maxWeight, JToLongFunction<? super T> jToLongFunction) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight必须大于0");
+        }
+        return new Chunker<>(maxSize, maxWeight, Objects.requireNonNull(jToLongFunction), maxDelayNanos);
+    }
+
+    /**
+     * 增加时间上限
+     *
+     * @param maxDelay 从批次的第一个元素开始最多经过的时间
+     * @return 新的Chunker
+     */
+    public Chunker<T> withMaxDelay(Duration maxDelay) {
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException("maxDelay必须大于0");
+        }
+        return new Chunker<>(maxSize, maxWeight, weigher, maxDelay.toNanos());
+    }
+
+    /**
+     * 惰性分批，取下一批时才从items中读取
+     *
+     * @param items 元素
+     * @return 返回值，计算权重抛出的异常在next()中不经包装抛出
+     */
+    public Iterator<List<T>> chunks(Iterator<? extends T> items) {
+        return new ChunkIterator(Objects.requireNonNull(items));
+    }
+
+    /**
+     * 惰性分批，关闭返回的Stream时关闭items
+     *
+     * @param items 元素
+     * @return 返回值
+     */
+    public Stream<List<T>> chunks(Stream<? extends T> items) {
+        Spliterator<List<T>> spliterator = Spliterators.spliteratorUnknownSize(chunks(items.iterator()),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(items::close);
+    }
+
+    /**
+     * 逐批交给jConsumer，在当前线程执行
+     *
+     * @param items     元素
+     * @param jConsumer 自定义函数式接口
+     * @throws Exception 计算权重或jConsumer抛出的原始异常
+     */
+    public void forEachBatch(Iterator<? extends T> items, JConsumer<? super List<T>> jConsumer) throws Exception {
+        Objects.requireNonNull(jConsumer);
+        Iterator<List<T>> chunks = chunks(items);
+        while (chunks.hasNext()) {
+            jConsumer.accept(chunks.next());
+        }
+    }
+
+    /**
+     * 逐批交给jConsumer，在executor中最多parallelism批同时执行
+     *
+     * @param items       元素
+     * @param jConsumer   自定义函数式接口
+     * @param parallelism 同时执行的批次数上限
+     * @param executor    线程池
+     * @throws Exception 第一个失败的批次（按元素顺序）抛出的原始异常，此时不再开始新的批次
+     */
+    public void forEachBatch(Iterator<? extends T> items, JConsumer<? super List<T>> jConsumer, int parallelism,
+                             Executor executor) throws Exception {
+        Objects.requireNonNull(jConsumer);
+        FutureUtils.forEachParallel(iterable(items), batch -> {
+            jConsumer.accept(batch);
+            return null;
+        }, parallelism, executor, ignored -> {
+        });
+    }
+
+    /**
+     * 逐批交给批量函数，在executor中最多parallelism批同时执行，结果按元素顺序展开；
+     * 返回的Stream是惰性的，消费结果的同时才读取新的元素，失败时消费到该批次的结果时抛出CompletionException（cause为原始异常）
+     *
+     * @param items       元素
+     * @param jFunction   自定义函数式接口，返回的List与参数一一对应
+     * @param parallelism 同时执行的批次数上限
+     * @param executor    线程池
+     * @param <R>         泛型
+     * @return 返回值
+     */
+    public <R> Stream<R> mapBatches(Iterator<? extends T> items, JFunction<? super List<T>, ? extends List<? extends R>> jFunction,
+                                    int parallelism, Executor executor) {
+        Objects.requireNonNull(jFunction);
+        return FutureUtils.mapParallel(iterable(items), batch -> checked(batch, jFunction.apply(batch)), parallelism, executor)
+                .flatMap(List::stream);
+    }
+
+    /**
+     * 同mapBatches()，结果按元素顺序收集到List中
+     *
+     * @param items       元素
+     * @param jFunction   自定义函数式接口，返回的List与参数一一对应
+     * @param parallelism 同时执行的批次数上限
+     * @param executor    线程池
+     * @param <R>         泛型
+     * @return 返回值
+     * @throws Exception 第一个失败的批次（按元素顺序）抛出的原始异常，此时不再开始新的批次
+     */
+    public <R> List<R> mapBatchesToList(Iterator<? extends T> items, JFunction<? super List<T>, ? extends List<? extends R>> jFunction,
+                                        int parallelism, Executor executor) throws Exception {
+        Objects.requireNonNull(jFunction);
+        List<R> result = new ArrayList<>();
+        FutureUtils.forEachParallel(iterable(items), batch -> checked(batch, jFunction.apply(batch)), parallelism, executor,
+                result::addAll);
+        return result;
+    }
+
+    /****************************************************************************************************/
+
+    private Iterable<List<T>> iterable(Iterator<? extends T> items) {
+        Iterator<List<T>> chunks = chunks(items);
+        return () -> chunks;
+    }
+
+    private static <R> List<? extends R> checked(List<?> batch, List<? extends R> results) {
+        if (results == null || results.size() != batch.size()) {
+            throw new IllegalStateException("批量函数返回了" + (results == null ? "null" : results.size() + "个结果")
+                    + "，批次有" + batch.size() + "个元素");
+        }
+        return results;
+    }
+
+    /**
+     * 分批的Iterator，放不进当前批次的元素留到下一批
+     */
+    private final class ChunkIterator implements Iterator<List<T>> {
+
+        private final Iterator<? extends T> items;
+
+        private T carry;
+
+        private long carryWeight;
+
+        private boolean hasCarry;
+
+        ChunkIterator(Iterator<? extends T> items) {
+            this.items = items;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasCarry || items.hasNext();
+        }
+
+        @Override
+        public List<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<T> chunk = new ArrayList<>(Math.min(maxSize, 256));
+            long weight = 0L;
+            long start = 0L;
+            while (chunk.size() < maxSize) {
+                T item;
+                long itemWeight;
+                if (hasCarry) {
+                    item = carry;
+                    itemWeight = carryWeight;
+                    carry = null;
+                    hasCarry = false;
+                }
+                else if (items.hasNext()) {
+                    item = items.next();
+                    itemWeight = weigh(item);
+                }
+                else {
+                    break;
+                }
+                if (!chunk.isEmpty() && weight + itemWeight > maxWeight) {
+                    carry = item;
+                    carryWeight = itemWeight;
+                    hasCarry = true;
+                    break;
+                }
+                chunk.add(item);
+                weight += itemWeight;
+                if (maxDelayNanos > 0L) {
+                    long now = System.nanoTime();
+                    if (chunk.size() == 1) {
+                        start = now;
+                    }
+                    else if (now - start >= maxDelayNanos) {
+                        break;
+                    }
+                }
+            }
+            return chunk;
+        }
+
+        private long weigh(T item) {
+            if (weigher == null) {
+                return 0L;
+            }
+            try {
+                long itemWeight = weigher.applyAsLong(item);
+                if (itemWeight < 0) {
+                    throw new IllegalStateException("元素的权重不能为负数：" + itemWeight);
+                }
+                return itemWeight;
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.jazng.extension.functional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * @author JJ_yo
+ * 编解码器
+ * 将对象与字节互相转换，用于把结果持久化到文件（如MappedMemoStore）
+ * 2026-10-19 13:00
+ * @version: 1.0
+ */
+public interface Codec<T> {
+
+    /**
+     * 编码
+     *
+     * @param value 参数
+     * @return 返回值
+     * @throws Exception 异常
+     */
+    byte[] encode(T value) throws Exception;
+
+    /**
+     * 解码，buffer的position到limit之间即为encode()得到的字节，buffer可能直接指向文件映射的内存，不要在方法外保留引用
+     *
+     * @param buffer 参数
+     * @return 返回值
+     * @throws Exception 异常
+     */
+    T decode(ByteBuffer buffer) throws Exception;
+
+    /****************************************************************************************************/
+
+    /**
+     * 由两个自定义函数式接口组成编解码器
+     *
+     * @param encoder 编码
+     * @param decoder 解码
+     * @param <T>     泛型
+     * @return 返回值
+     */
+    static <T> Codec<T> of(JFunction<? super T, byte[]> encoder, JFunction<ByteBuffer, ? extends T> decoder) {
+        Objects.requireNonNull(encoder);
+        Objects.requireNonNull(decoder);
+        return new Codec<T>() {
+            @Override
+            public byte[] encode(T value) throws Exception {
+                return encoder.apply(value);
+            }
+
+            @Override
+            public T decode(ByteBuffer buffer) throws Exception {
+                return decoder.apply(buffer);
+            }
+        };
+    }
+
+    /**
+     * UTF-8字符串编解码器
+     *
+     * @return 返回值
+     */
+    static Codec<String> utf8() {
+        return of(value -> value.getBytes(StandardCharsets.UTF_8),
+                buffer -> StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
+    /**
+     * Long编解码器，固定8个字节
+     *
+     * @return 返回值
+     */
+    static Codec<Long> int64() {
+        return of(value -> ByteBuffer.allocate(Long.BYTES).putLong(value).array(), ByteBuffer::getLong);
+    }
+
+    /**
+     * 基于Java序列化的编解码器
+     *
+     * @param <T> 泛型
+     * @return 返回值
+     */
+    static <T extends Serializable> Codec<T> serializable() {
+        return of(value -> {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(value);
+            }
+            return bytes.toByteArray();
+        }, buffer -> {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                @SuppressWarnings("unchecked")
+                T value = (T) in.readObject();
+                return value;
+            }
+        });
+    }
+}
@@ -0,0 +1,770 @@
+package com.jazng.extension.functional;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * @author JJ_yo
+ * 内存有上限的去重器
+ * distinct()/HashSet去重时每个key都保存在堆中，数据量达到几十亿时无法承受。
+ * 精确模式（exact）把64位哈希值保存在分段的开放寻址long表中，堆内占用达到maxHeapBytes后，之后扩容的分段改为映射到spillDirectory下的临时文件（堆外，由操作系统换页）：
+ * 由JToLongFunction直接给出唯一的long（如id）时只保存这个long；由JFunction加Codec给出key时，编码后的key同样保存在分段的key日志中（超出maxHeapBytes后映射到文件），
+ * 哈希值相同时再比较key的字节，不同的key哈希冲突时不会被当作重复元素；
+ * 近似模式（approximate）只保存哈希值，使用可扩展的布隆过滤器，按expectedItems和falsePositiveRate确定第一个过滤器的大小，元素超出后追加容量翻倍、误判率减半的过滤器，
+ * 总的误判率不超过falsePositiveRate，误判时新元素会被当作重复元素丢弃，不会把重复元素当作新元素。
+ * 两种模式都可以在并行Stream中使用：同一个哈希值的检查和写入在同一把分段锁内完成，同时到达的两个相同元素只有一个被接受
+ * 例：
+ * try (Deduplicator&lt;Event&gt; dedup = Deduplicator.approximate(Event::id, 1_000_000_000L, 0.001)) {
+ * events.parallelStream().filter(dedup.predicate()).forEach(this::handle);
+ * }
+ * 2026-10-19 23:30
+ * @version: 1.0
+ */
+public final class Deduplicator<T> implements Closeable {
+
+    /**
+     * 分段数，取哈希值的高位选择分段
+     */
+    private static final int STRIPES = 64;
+
+    private static final int STRIPE_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(STRIPES);
+
+    /**
+     * 返回唯一的long或64位哈希值，encoder不为null时不使用
+     */
+    private final JToLongFunction<? super T> hasher;
+
+    /**
+     * 返回key的编码
+     */
+    private final JFunction<? super T, byte[]> encoder;
+
+    private final Store store;
+
+    private final LongAdder accepted = new LongAdder();
+
+    private Deduplicator(JToLongFunction<? super T> hasher, JFunction<? super T, byte[]> encoder, Store store) {
+        this.hasher = hasher;
+        this.encoder = encoder;
+        this.store = store;
+    }
+
+    /**
+     * 精确去重，哈希值由jToLongFunction直接给出
+     *
+     * @param jToLongFunction 自定义函数式接口，返回元素的唯一long值（如id）或64位哈希值
+     * @param maxHeapBytes    堆内占用的上限，超出后扩容的分段映射到文件
+     * @param spillDirectory  映射文件所在的目录，文件在close()时删除
+     * @param <T>             泛型
+     * @return 返回值
+     */
+    public static <T> Deduplicator<T> exact(JToLongFunction<? super T> jToLongFunction, long maxHeapBytes, Path spillDirectory) {
+        return new Deduplicator<>(Objects.requireNonNull(jToLongFunction), null, exactStore(maxHeapBytes, spillDirectory, false));
+    }
+
+    /**
+     * 精确去重，哈希值由key的编码计算，编码后的key同样保存，哈希值相同时比较key的字节
+     *
+     * @param jFunction      自定义函数式接口，提取key
+     * @param codec          key的编码器，只使用encode()
+     * @param maxHeapBytes   堆内占用的上限（哈希表与key日志合计），超出后新分配的部分映射到文件
+     * @param spillDirectory 映射文件所在的目录，文件在close()时删除
+     * @param <T>            泛型
+     * @param <K>            泛型
+     * @return 返回值
+     */
+    public static <T, K> Deduplicator<T> exact(JFunction<? super T, ? extends K> jFunction, Codec<K> codec, long maxHeapBytes,
+                                               Path spillDirectory) {
+        return new Deduplicator<>(null, encoder(jFunction, codec), exactStore(maxHeapBytes, spillDirectory, true));
+    }
+
+    /**
+     * 近似去重，哈希值由jToLongFunction直接给出
+     *
+     * @param jToLongFunction   自定义函数式接口，返回元素的唯一long值（如id）或64位哈希值
+     * @param expectedItems     预计的不同元素数量，用于确定第一个过滤器的大小
+     * @param falsePositiveRate 误判率上限，0到1之间
+     * @param <T>               泛型
+     * @return 返回值
+     */
+    public static <T> Deduplicator<T> approximate(JToLongFunction<? super T> jToLongFunction, long expectedItems, double falsePositiveRate) {
+        if (expectedItems <= 0) {
+            throw new IllegalArgumentException("expectedItems必须大于0");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate必须在0到1之间");
+        }
+        return new Deduplicator<>(Objects.requireNonNull(jToLongFunction), null, new BloomStore(expectedItems, falsePositiveRate));
+    }
+
+    /**
+     * 近似去重，哈希值由key的编码计算
+     *
+     * @param jFunction         自定义函数式接口，提取key
+     * @param codec             key的编码器，只使用encode()
+     * @param expectedItems     预计的不同元素数量，用于确定第一个过滤器的大小
+     * @param falsePositiveRate 误判率上限，0到1之间
+     * @param <T>               泛型
+     * @param <K>               泛型
+     * @return 返回值
+     */
+    public static <T, K> Deduplicator<T> approximate(JFunction<? super T, ? extends K> jFunction, Codec<K> codec, long expectedItems,
+                                                     double falsePositiveRate) {
+        JFunction<? super T, byte[]> encoder = encoder(jFunction, codec);
+        return approximate(item -> hash(encoder.apply(item)), expectedItems, falsePositiveRate);
+    }
+
+    /**
+     * 第一次出现时返回true并记录，之后返回false
+     *
+     * @param item 元素
+     * @return 返回值
+     * @throws Exception 计算哈希值或编码抛出的原始异常，或映射文件时的IOException；close()之后调用时抛出IllegalStateException
+     */
+    public boolean add(T item) throws Exception {
+        boolean added;
+        if (encoder != null) {
+            byte[] key = encoder.apply(item);
+            added = store.add(mix(hash(key)), key);
+        }
+        else {
+            added = store.add(mix(hasher.applyAsLong(item)), null);
+        }
+        if (added) {
+            accepted.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 用于Stream.filter()的Predicate，异常不经包装直接抛出
+     *
+     * @return 返回值
+     */
+    public Predicate<T> predicate() {
+        return item -> {
+            try {
+                return add(item);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        };
+    }
+
+    /**
+     * 已接受的不同元素数量
+     *
+     * @return 返回值
+     */
+    public long count() {
+        return accepted.sum();
+    }
+
+    /**
+     * 占用的堆内存字节数
+     *
+     * @return 返回值
+     */
+    public long heapBytes() {
+        return store.heapBytes();
+    }
+
+    /**
+     * 映射到文件的字节数
+     *
+     * @return 返回值
+     */
+    public long spilledBytes() {
+        return store.spilledBytes();
+    }
+
+    /**
+     * 关闭并删除映射文件，之后不能再调用add()
+     *
+     * @throws IOException 异常
+     */
+    @Override
+    public void close() throws IOException {
+        store.close();
+    }
+
+    /****************************************************************************************************/
+
+    private static ExactStore exactStore(long maxHeapBytes, Path spillDirectory, boolean storesKeys) {
+        if (maxHeapBytes < 0) {
+            throw new IllegalArgumentException("maxHeapBytes不能为负数");
+        }
+        return new ExactStore(maxHeapBytes, Objects.requireNonNull(spillDirectory), storesKeys);
+    }
+
+    private static <T, K> JFunction<T, byte[]> encoder(JFunction<? super T, ? extends K> jFunction, Codec<K> codec) {
+        Objects.requireNonNull(jFunction);
+        Objects.requireNonNull(codec);
+        return item -> Objects.requireNonNull(codec.encode(jFunction.apply(item)), "Codec.encode()返回了null");
+    }
+
+    /**
+     * 字节数组的64位哈希：每次处理8个字节
+     */
+    private static long hash(byte[] bytes) {
+        long h = 0x9E3779B97F4A7C15L ^ bytes.length;
+        int i = 0;
+        for (; i + 8 <= bytes.length; i += 8) {
+            long word = (bytes[i] & 0xFFL) | (bytes[i + 1] & 0xFFL) << 8 | (bytes[i + 2] & 0xFFL) << 16 | (bytes[i + 3] & 0xFFL) << 24
+                    | (bytes[i + 4] & 0xFFL) << 32 | (bytes[i + 5] & 0xFFL) << 40 | (bytes[i + 6] & 0xFFL) << 48 | (bytes[i + 7] & 0xFFL) << 56;
+            h = Long.rotateLeft(h ^ scramble(word), 27) * 5 + 0x52DCE729L;
+        }
+        long tail = 0;
+        for (int shift = 0; i < bytes.length; i++, shift += 8) {
+            tail |= (bytes[i] & 0xFFL) << shift;
+        }
+        return h ^ scramble(tail);
+    }
+
+    private static long scramble(long word) {
+        return Long.rotateLeft(word * 0x87C37B91114253D5L, 31) * 0x4CF5AD432745937FL;
+    }
+
+    /**
+     * 双射的混合函数，使分段和槽位分布均匀，且不会让不同的哈希值冲突
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int stripe(long h) {
+        return (int) (h >>> STRIPE_SHIFT);
+    }
+
+    /**
+     * 保存哈希值的结构
+     */
+    private interface Store extends Closeable {
+
+        /**
+         * 第一次出现时返回true
+         *
+         * @param h   混合后的哈希值
+         * @param key 编码后的key，只有哈希值时为null
+         */
+        boolean add(long h, byte[] key) throws IOException;
+
+        long heapBytes();
+
+        long spilledBytes();
+    }
+
+    /**
+     * 精确模式：分段的开放寻址long表。
+     * 只保存哈希值时每个槽位一个long，0表示空槽，哈希值0单独记录；
+     * 保存key时表的后一半是key在key日志中的位置加1（0表示空槽），哈希值相同时再比较key的字节
+     */
+    private static final class ExactStore implements Store {
+
+        private static final int INITIAL_CAPACITY = 1 << 10;
+
+        /**
+         * 单个表最多的long数，映射区域不超过1GB
+         */
+        private static final int MAX_LONGS = 1 << 27;
+
+        /**
+         * key日志的块大小，从MIN_CHUNK开始翻倍，最大MAX_CHUNK（单个key更大时按key的大小）
+         */
+        private static final int MIN_CHUNK = 1 << 12;
+
+        private static final int MAX_CHUNK = 1 << 24;
+
+        private final long maxHeapBytes;
+
+        private final Path spillDirectory;
+
+        private final boolean storesKeys;
+
+        private final AtomicLong heapBytes = new AtomicLong();
+
+        private final AtomicLong spilledBytes = new AtomicLong();
+
+        private final Table[] tables = new Table[STRIPES];
+
+        private volatile boolean closed;
+
+        ExactStore(long maxHeapBytes, Path spillDirectory, boolean storesKeys) {
+            this.maxHeapBytes = maxHeapBytes;
+            this.spillDirectory = spillDirectory;
+            this.storesKeys = storesKeys;
+            for (int i = 0; i < STRIPES; i++) {
+                tables[i] = new Table();
+            }
+        }
+
+        @Override
+        public boolean add(long h, byte[] key) throws IOException {
+            Table table = tables[stripe(h)];
+            table.lock.lock();
+            try {
+                if (closed) {
+                    throw new IllegalStateException("Deduplicator已关闭");
+                }
+                if (storesKeys) {
+                    return addKey(table, h, key);
+                }
+                if (h == 0L) {
+                    if (table.containsZero) {
+                        return false;
+                    }
+                    table.containsZero = true;
+                    return true;
+                }
+                if (table.slots == null) {
+                    allocate(table, INITIAL_CAPACITY);
+                }
+                if (!insert(table.slots, table.mask, h)) {
+                    return false;
+                }
+                if (++table.size > (table.mask + 1) / 4 * 3) {
+                    grow(table);
+                }
+                return true;
+            }
+            finally {
+                table.lock.unlock();
+            }
+        }
+
+        @Override
+        public long heapBytes() {
+            return heapBytes.get();
+        }
+
+        @Override
+        public long spilledBytes() {
+            return spilledBytes.get();
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            IOException failure = null;
+            for (Table table : tables) {
+                table.lock.lock();
+                try {
+                    table.slots = null;
+                    table.keyChunks = null;
+                    table.keyChunk = null;
+                    FileChannel[] channels = {table.channel, table.keyChannel};
+                    table.channel = null;
+                    table.keyChannel = null;
+                    for (FileChannel channel : channels) {
+                        if (channel == null) {
+                            continue;
+                        }
+                        try {
+                            channel.close();
+                        }
+                        catch (IOException e) {
+                            if (failure == null) {
+                                failure = e;
+                            }
+                            else {
+                                failure.addSuppressed(e);
+                            }
+                        }
+                    }
+                }
+                finally {
+                    table.lock.unlock();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private static boolean insert(LongBuffer slots, int mask, long h) {
+            int index = (int) h & mask;
+            while (true) {
+                long current = slots.get(index);
+                if (current == 0L) {
+                    slots.put(index, h);
+                    return true;
+                }
+                if (current == h) {
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        /**
+         * 保存key时的插入：哈希值相同且key的字节相同才是重复元素
+         */
+        private boolean addKey(Table table, long h, byte[] key) throws IOException {
+            if (table.slots == null) {
+                allocate(table, INITIAL_CAPACITY);
+                table.keyChunks = new ArrayList<>();
+            }
+            LongBuffer slots = table.slots;
+            int capacity = table.mask + 1;
+            int index = (int) h & table.mask;
+            while (true) {
+                long ref = slots.get(capacity + index);
+                if (ref == 0L) {
+                    break;
+                }
+                if (slots.get(index) == h && keyEquals(table, ref - 1, key)) {
+                    return false;
+                }
+                index = (index + 1) & table.mask;
+            }
+            long offset = appendKey(table, key);
+            slots.put(index, h);
+            slots.put(capacity + index, offset + 1);
+            if (++table.size > capacity / 4 * 3) {
+                grow(table);
+            }
+            return true;
+        }
+
+        /**
+         * 扩容时重新插入，已有的key互不相同，不需要比较
+         */
+        private static void insertRef(LongBuffer slots, int mask, long h, long ref) {
+            int capacity = mask + 1;
+            int index = (int) h & mask;
+            while (slots.get(capacity + index) != 0L) {
+                index = (index + 1) & mask;
+            }
+            slots.put(index, h);
+            slots.put(capacity + index, ref);
+        }
+
+        private void grow(Table table) throws IOException {
+            int capacity = (table.mask + 1) << 1;
+            if ((long) capacity * width() > MAX_LONGS) {
+                throw new IllegalStateException("去重表的分段超过了" + MAX_LONGS / width() + "个槽位");
+            }
+            LongBuffer old = table.slots;
+            int oldCapacity = table.mask + 1;
+            FileChannel oldChannel = table.channel;
+            allocate(table, capacity);
+            for (int i = 0; i < oldCapacity; i++) {
+                if (storesKeys) {
+                    long ref = old.get(oldCapacity + i);
+                    if (ref != 0L) {
+                        insertRef(table.slots, table.mask, old.get(i), ref);
+                    }
+                }
+                else {
+                    long h = old.get(i);
+                    if (h != 0L) {
+                        insert(table.slots, table.mask, h);
+                    }
+                }
+            }
+            if (oldChannel != null) {
+                // 旧的映射在被回收时释放
+                spilledBytes.addAndGet(-(long) old.capacity() * Long.BYTES);
+                oldChannel.close();
+            }
+            else {
+                heapBytes.addAndGet(-(long) old.capacity() * Long.BYTES);
+            }
+        }
+
+        /**
+         * 每个槽位占用的long数
+         */
+        private int width() {
+            return storesKeys ? 2 : 1;
+        }
+
+        /**
+         * 堆内占用未超过上限时使用long数组，否则映射到临时文件
+         */
+        private void allocate(Table table, int capacity) throws IOException {
+            int longs = capacity * width();
+            long bytes = (long) longs * Long.BYTES;
+            if (reserveHeap(bytes)) {
+                table.slots = LongBuffer.wrap(new long[longs]);
+                table.channel = null;
+            }
+            else {
+                FileChannel channel = openSpillFile();
+                try {
+                    table.slots = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes).order(ByteOrder.nativeOrder()).asLongBuffer();
+                }
+                catch (IOException | RuntimeException e) {
+                    channel.close();
+                    throw e;
+                }
+                spilledBytes.addAndGet(bytes);
+                table.channel = channel;
+            }
+            table.mask = capacity - 1;
+        }
+
+        /**
+         * 把key追加到分段的key日志中，记录为长度加字节，不跨块
+         *
+         * @return 块序号（高32位）和块内位置（低32位）
+         */
+        private long appendKey(Table table, byte[] key) throws IOException {
+            int length = Integer.BYTES + key.length;
+            ByteBuffer chunk = table.keyChunk;
+            if (chunk == null || chunk.remaining() < length) {
+                int size = chunk == null ? MIN_CHUNK : Math.min(MAX_CHUNK, chunk.capacity() << 1);
+                chunk = allocateChunk(table, Math.max(size, length));
+                table.keyChunks.add(chunk);
+                table.keyChunk = chunk;
+            }
+            long offset = (long) (table.keyChunks.size() - 1) << 32 | chunk.position();
+            chunk.putInt(key.length).put(key);
+            return offset;
+        }
+
+        private static boolean keyEquals(Table table, long offset, byte[] key) {
+            ByteBuffer chunk = table.keyChunks.get((int) (offset >>> 32));
+            int position = (int) offset;
+            if (chunk.getInt(position) != key.length) {
+                return false;
+            }
+            position += Integer.BYTES;
+            for (int i = 0; i < key.length; i++) {
+                if (chunk.get(position + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 堆内占用未超过上限时使用byte数组，否则追加映射到分段的key文件
+         */
+        private ByteBuffer allocateChunk(Table table, int size) throws IOException {
+            if (reserveHeap(size)) {
+                return ByteBuffer.allocate(size);
+            }
+            if (table.keyChannel == null) {
+                table.keyChannel = openSpillFile();
+                table.keyFileSize = 0L;
+            }
+            ByteBuffer chunk = table.keyChannel.map(FileChannel.MapMode.READ_WRITE, table.keyFileSize, size);
+            table.keyFileSize += size;
+            spilledBytes.addAndGet(size);
+            return chunk;
+        }
+
+        private FileChannel openSpillFile() throws IOException {
+            Path file = Files.createTempFile(spillDirectory, "jfunctional-dedup-", ".bin");
+            return FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        private boolean reserveHeap(long bytes) {
+            long used;
+            do {
+                used = heapBytes.get();
+                if (used + bytes > maxHeapBytes) {
+                    return false;
+                }
+            }
+            while (!heapBytes.compareAndSet(used, used + bytes));
+            return true;
+        }
+
+        /**
+         * 一个分段
+         */
+        private static final class Table {
+
+            final ReentrantLock lock = new ReentrantLock();
+
+            LongBuffer slots;
+
+            FileChannel channel;
+
+            int mask;
+
+            int size;
+
+            boolean containsZero;
+
+            /**
+             * key日志：已分配的块，以及正在追加的块
+             */
+            List<ByteBuffer> keyChunks;
+
+            ByteBuffer keyChunk;
+
+            FileChannel keyChannel;
+
+            long keyFileSize;
+        }
+    }
+
+    /**
+     * 近似模式：可扩展的布隆过滤器，位数组为AtomicLongArray
+     */
+    private static final class BloomStore implements Store {
+
+        /**
+         * 每个新过滤器的误判率是上一个的一半，总的误判率不超过第一个的两倍
+         */
+        private static final double TIGHTENING = 0.5;
+
+        private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+        private final ReentrantLock growLock = new ReentrantLock();
+
+        private volatile Filter[] filters;
+
+        private volatile boolean closed;
+
+        BloomStore(long expectedItems, double falsePositiveRate) {
+            for (int i = 0; i < STRIPES; i++) {
+                locks[i] = new ReentrantLock();
+            }
+            this.filters = new Filter[]{new Filter(expectedItems, falsePositiveRate * (1 - TIGHTENING))};
+        }
+
+        @Override
+        public boolean add(long h, byte[] key) {
+            ReentrantLock lock = locks[stripe(h)];
+            lock.lock();
+            try {
+                if (closed) {
+                    throw new IllegalStateException("Deduplicator已关闭");
+                }
+                Filter[] current = filters;
+                for (Filter filter : current) {
+                    if (filter.mightContain(h)) {
+                        return false;
+                    }
+                }
+                Filter last = current[current.length - 1];
+                last.put(h);
+                if (last.count.incrementAndGet() == last.capacity) {
+                    expand(last);
+                }
+                return true;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public long heapBytes() {
+            long bytes = 0;
+            for (Filter filter : filters) {
+                bytes += (long) filter.bits.length() * Long.BYTES;
+            }
+            return bytes;
+        }
+
+        @Override
+        public long spilledBytes() {
+            return 0L;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        private void expand(Filter full) {
+            growLock.lock();
+            try {
+                Filter[] current = filters;
+                if (current[current.length - 1] != full) {
+                    return;
+                }
+                Filter[] next = Arrays.copyOf(current, current.length + 1);
+                next[current.length] = new Filter(full.capacity * 2, full.falsePositiveRate * TIGHTENING);
+                filters = next;
+            }
+            finally {
+                growLock.unlock();
+            }
+        }
+
+        /**
+         * 一个布隆过滤器，用h和h的旋转做双重哈希
+         */
+        private static final class Filter {
+
+            final long capacity;
+
+            final double falsePositiveRate;
+
+            final AtomicLongArray bits;
+
+            final long bitCount;
+
+            final int hashCount;
+
+            final AtomicLong count = new AtomicLong();
+
+            Filter(long capacity, double falsePositiveRate) {
+                this.capacity = capacity;
+                this.falsePositiveRate = falsePositiveRate;
+                double ln2 = Math.log(2);
+                long words = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2) / Long.SIZE);
+                if (words > Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException("布隆过滤器过大，请减小expectedItems或增大falsePositiveRate");
+                }
+                this.bits = new AtomicLongArray((int) Math.max(1L, words));
+                this.bitCount = (long) bits.length() * Long.SIZE;
+                this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+            }
+
+            boolean mightContain(long h) {
+                long step = Long.rotateLeft(h, 32) | 1L;
+                long combined = h;
+                for (int i = 0; i < hashCount; i++, combined += step) {
+                    long index = Long.remainderUnsigned(combined, bitCount);
+                    if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            void put(long h) {
+                long step = Long.rotateLeft(h, 32) | 1L;
+                long combined = h;
+                for (int i = 0; i < hashCount; i++, combined += step) {
+                    long index = Long.remainderUnsigned(combined, bitCount);
+                    int word = (int) (index >>> 6);
+                    long mask = 1L << index;
+                    if ((bits.get(word) & mask) == 0) {
+                        bits.accumulateAndGet(word, mask, (a, b) -> a | b);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.jazng.extension.functional;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * @author JJ_yo
+ * 异常工具类
+ * 异步执行自定义函数式接口时，用于还原原始异常，保证调用方拿到的是函数本身抛出的异常
+ * 2026-10-19 09:30
+ * @version: 1.0
+ */
+final class ExceptionUtils {
+
+    private ExceptionUtils() {
+    }
+
+    /**
+     * 去掉CompletionException、ExecutionException等包装，返回原始异常
+     *
+     * @param throwable 异常
+     * @return 原始异常
+     */
+    static Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * 将原始异常重新抛出，Error原样抛出，其它Throwable包装成Exception
+     *
+     * @param throwable 异常
+     * @return 不会返回，仅用于 throw ExceptionUtils.rethrow(e) 的写法
+     * @throws Exception 原始异常
+     */
+    static Exception rethrow(Throwable throwable) throws Exception {
+        Throwable cause = unwrap(throwable);
+        if (cause instanceof Exception) {
+            throw (Exception) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new Exception(cause);
+    }
+
+    /**
+     * 在不声明受检异常的上下文中抛出原始异常，CompletableFuture会将其作为异常完成的原因
+     *
+     * @param throwable 异常
+     * @return 不会返回，仅用于 throw ExceptionUtils.sneakyThrow(e) 的写法
+     */
+    static RuntimeException sneakyThrow(Throwable throwable) {
+        throw ExceptionUtils.<RuntimeException>sneakyThrow0(throwable);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E sneakyThrow0(Throwable throwable) throws E {
+        throw (E) throwable;
+    }
+
+    /**
+     * 等待Future完成，失败时抛出原始异常
+     *
+     * @param future Future
+     * @param <T>    泛型
+     * @return 结果
+     * @throws Exception 原始异常，或等待时的InterruptedException
+     */
+    static <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        }
+        catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+}
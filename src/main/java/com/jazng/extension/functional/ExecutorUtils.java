@@ -0,0 +1,206 @@
+package com.jazng.extension.functional;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author JJ_yo
+ * 线程池工具类
+ * 运行在JDK 21及以上时使用虚拟线程执行任务，运行在低版本JDK时退回到普通线程池，同一个jar在不同JDK上都可以使用；
+ * 虚拟线程没有数量上限，可以通过limit()限制同时执行的任务数，避免压垮下游服务。
+ * 注意：JDK 21~23中，虚拟线程在synchronized代码块内阻塞会占住载体线程（pinning），本库中会阻塞的代码都使用java.util.concurrent中的锁；
+ * 排查业务代码中的pinning可以在启动参数中加上-Djdk.tracePinnedThreads=full
+ * 2026-10-19 15:30
+ * @version: 1.0
+ */
+public final class ExecutorUtils {
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR;
+
+    private static final MethodHandle IS_VIRTUAL;
+
+    static {
+        MethodHandle newExecutor = null;
+        MethodHandle isVirtual = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            newExecutor = lookup.findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        }
+        catch (NoSuchMethodException | IllegalAccessException e) {
+            // JDK 21以下没有虚拟线程
+        }
+        NEW_VIRTUAL_THREAD_EXECUTOR = newExecutor;
+        IS_VIRTUAL = isVirtual;
+    }
+
+    private ExecutorUtils() {
+    }
+
+    /**
+     * 当前JDK是否支持虚拟线程
+     *
+     * @return 返回值
+     */
+    public static boolean virtualThreadsSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * 线程是否为虚拟线程，JDK 21以下总是返回false
+     *
+     * @param thread 线程
+     * @return 返回值
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        }
+        catch (Throwable e) {
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+    }
+
+    /**
+     * 每个任务一个虚拟线程的线程池；JDK 21以下退回到按需创建守护线程的线程池。使用完毕后需要shutdown()
+     *
+     * @return 返回值
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invokeExact();
+            }
+            catch (Throwable e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }
+        return Executors.newCachedThreadPool(new DaemonThreadFactory());
+    }
+
+    /**
+     * 限制同时执行的任务数：超过maxConcurrency的任务先排队，有任务结束后再交给delegate执行；提交任务不会阻塞。
+     * delegate拒绝时，排在队列中的其它任务改由当前线程执行，只有本次提交的任务抛出RejectedExecutionException。
+     * 返回的Executor不管理delegate的生命周期
+     *
+     * @param delegate       实际执行任务的线程池
+     * @param maxConcurrency 最大并发数
+     * @return 返回值
+     */
+    public static Executor limit(Executor delegate, int maxConcurrency) {
+        return new LimitedExecutor(delegate, maxConcurrency);
+    }
+
+    private static final class LimitedExecutor implements Executor {
+
+        private final Executor delegate;
+
+        private final int maxConcurrency;
+
+        private final Deque<Runnable> queue = new ConcurrentLinkedDeque<>();
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        LimitedExecutor(Executor delegate, int maxConcurrency) {
+            if (maxConcurrency <= 0) {
+                throw new IllegalArgumentException("maxConcurrency必须大于0");
+            }
+            this.delegate = Objects.requireNonNull(delegate);
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            queue.offer(Objects.requireNonNull(command));
+            schedule(command);
+        }
+
+        /**
+         * 有空闲名额且队列不为空时，启动一个worker。
+         * delegate拒绝时不归还名额，由当前线程接替worker执行已取出的任务和队列中剩余的任务，已接受的任务不会因为没有worker而滞留；
+         * 只有调用方自己的command被拒绝：从队列中移除（或不执行已取出的它）后抛出RejectedExecutionException
+         *
+         * @param command 调用方提交的任务，由worker调用时为null
+         */
+        private void schedule(Runnable command) {
+            for (;;) {
+                int current = active.get();
+                if (current >= maxConcurrency || queue.isEmpty()) {
+                    return;
+                }
+                if (!active.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                Runnable first = queue.poll();
+                if (first == null) {
+                    active.decrementAndGet();
+                    continue;
+                }
+                try {
+                    delegate.execute(() -> drain(first));
+                }
+                catch (RejectedExecutionException e) {
+                    boolean rejected = first == command || command != null && queue.removeLastOccurrence(command);
+                    try {
+                        drain(first == command ? null : first);
+                    }
+                    catch (RuntimeException t) {
+                        if (rejected) {
+                            e.addSuppressed(t);
+                            throw e;
+                        }
+                        throw t;
+                    }
+                    if (rejected) {
+                        throw e;
+                    }
+                    return;
+                }
+            }
+        }
+
+        /**
+         * worker依次执行队列中的任务，队列为空时归还名额
+         *
+         * @param first 已取出的第一个任务，为null时直接从队列中取
+         */
+        private void drain(Runnable first) {
+            try {
+                Runnable task = first != null ? first : queue.poll();
+                while (task != null) {
+                    task.run();
+                    task = queue.poll();
+                }
+            }
+            finally {
+                active.decrementAndGet();
+                schedule(null);
+            }
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "jfunctional-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
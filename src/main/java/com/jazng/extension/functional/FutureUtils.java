@@ -0,0 +1,576 @@
+package com.jazng.extension.functional;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author JJ_yo
+ * CompletableFuture工具类
+ * 直接接收自定义函数式接口，不再需要先用allowThrowException()包装；函数抛出的异常（包括编译时异常）原样作为CompletableFuture异常完成的原因，
+ * 不会被转换成RuntimeException，也不会额外增加CompletionStage
+ * 2026-10-19 14:30
+ * @version: 1.0
+ */
+public final class FutureUtils {
+
+    private FutureUtils() {
+    }
+
+    /**************************************** 创建 ****************************************/
+
+    /**
+     * 与CompletableFuture.supplyAsync()相同，参数为JSupplier
+     *
+     * @param jSupplier 自定义函数式接口
+     * @param executor  线程池
+     * @param <T>       泛型
+     * @return 返回值，异常完成时的原因为jSupplier抛出的原始异常
+     */
+    public static <T> CompletableFuture<T> supplyAsync(JSupplier<T> jSupplier, Executor executor) {
+        Objects.requireNonNull(jSupplier);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(jSupplier.get());
+                }
+                catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+        catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**************************************** 转换 ****************************************/
+
+    /**
+     * 与CompletionStage.thenApply()相同，参数为JFunction
+     *
+     * @param stage     上一阶段
+     * @param jFunction 自定义函数式接口
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 返回值
+     */
+    public static <T, R> CompletableFuture<R> thenApply(CompletionStage<T> stage, JFunction<? super T, ? extends R> jFunction) {
+        Objects.requireNonNull(jFunction);
+        return stage.<R>thenApply(t -> {
+            try {
+                return jFunction.apply(t);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }).toCompletableFuture();
+    }
+
+    /**
+     * 与CompletionStage.thenApplyAsync()相同，参数为JFunction
+     *
+     * @param stage     上一阶段
+     * @param jFunction 自定义函数式接口
+     * @param executor  线程池
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 返回值
+     */
+    public static <T, R> CompletableFuture<R> thenApplyAsync(CompletionStage<T> stage, JFunction<? super T, ? extends R> jFunction,
+                                                             Executor executor) {
+        Objects.requireNonNull(jFunction);
+        return stage.<R>thenApplyAsync(t -> {
+            try {
+                return jFunction.apply(t);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }, executor).toCompletableFuture();
+    }
+
+    /**
+     * 与CompletionStage.thenCompose()相同，参数为JFunction
+     *
+     * @param stage     上一阶段
+     * @param jFunction 自定义函数式接口
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 返回值
+     */
+    public static <T, R> CompletableFuture<R> thenCompose(CompletionStage<T> stage,
+                                                          JFunction<? super T, ? extends CompletionStage<R>> jFunction) {
+        Objects.requireNonNull(jFunction);
+        return stage.<R>thenCompose(t -> {
+            try {
+                return jFunction.apply(t);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }).toCompletableFuture();
+    }
+
+    /**
+     * 与CompletionStage.thenCombine()相同，参数为JBiFunction
+     *
+     * @param stage       上一阶段
+     * @param other       另一个阶段
+     * @param jBiFunction 自定义函数式接口
+     * @param <T>         泛型
+     * @param <U>         泛型
+     * @param <R>         泛型
+     * @return 返回值
+     */
+    public static <T, U, R> CompletableFuture<R> thenCombine(CompletionStage<T> stage, CompletionStage<? extends U> other,
+                                                             JBiFunction<? super T, ? super U, ? extends R> jBiFunction) {
+        Objects.requireNonNull(jBiFunction);
+        return stage.<U, R>thenCombine(other, (t, u) -> {
+            try {
+                return jBiFunction.apply(t, u);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }).toCompletableFuture();
+    }
+
+    /**
+     * 与CompletionStage.thenCombineAsync()相同，参数为JBiFunction
+     *
+     * @param stage       上一阶段
+     * @param other       另一个阶段
+     * @param jBiFunction 自定义函数式接口
+     * @param executor    线程池
+     * @param <T>         泛型
+     * @param <U>         泛型
+     * @param <R>         泛型
+     * @return 返回值
+     */
+    public static <T, U, R> CompletableFuture<R> thenCombineAsync(CompletionStage<T> stage, CompletionStage<? extends U> other,
+                                                                  JBiFunction<? super T, ? super U, ? extends R> jBiFunction,
+                                                                  Executor executor) {
+        Objects.requireNonNull(jBiFunction);
+        return stage.<U, R>thenCombineAsync(other, (t, u) -> {
+            try {
+                return jBiFunction.apply(t, u);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }, executor).toCompletableFuture();
+    }
+
+    /**
+     * 与CompletionStage.exceptionally()相同，参数为JFunction，fallback接收的是原始异常而不是CompletionException
+     *
+     * @param stage    上一阶段
+     * @param fallback 自定义函数式接口
+     * @param <T>      泛型
+     * @return 返回值
+     */
+    public static <T> CompletableFuture<T> exceptionally(CompletionStage<T> stage, JFunction<Throwable, ? extends T> fallback) {
+        Objects.requireNonNull(fallback);
+        return stage.exceptionally(e -> {
+            try {
+                return fallback.apply(ExceptionUtils.unwrap(e));
+            }
+            catch (Exception ex) {
+                throw ExceptionUtils.sneakyThrow(ex);
+            }
+        }).toCompletableFuture();
+    }
+
+    /**************************************** 消费 ****************************************/
+
+    /**
+     * 与CompletionStage.thenAccept()相同，参数为JConsumer
+     *
+     * @param stage     上一阶段
+     * @param jConsumer 自定义函数式接口
+     * @param <T>       泛型
+     * @return 返回值
+     */
+    public static <T> CompletableFuture<Void> thenAccept(CompletionStage<T> stage, JConsumer<? super T> jConsumer) {
+        Objects.requireNonNull(jConsumer);
+        return stage.thenAccept(t -> {
+            try {
+                jConsumer.accept(t);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }).toCompletableFuture();
+    }
+
+    /**
+     * 与CompletionStage.thenAcceptAsync()相同，参数为JConsumer
+     *
+     * @param stage     上一阶段
+     * @param jConsumer 自定义函数式接口
+     * @param executor  线程池
+     * @param <T>       泛型
+     * @return 返回值
+     */
+    public static <T> CompletableFuture<Void> thenAcceptAsync(CompletionStage<T> stage, JConsumer<? super T> jConsumer,
+                                                              Executor executor) {
+        Objects.requireNonNull(jConsumer);
+        return stage.thenAcceptAsync(t -> {
+            try {
+                jConsumer.accept(t);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }, executor).toCompletableFuture();
+    }
+
+    /**
+     * 与CompletionStage.thenAcceptBoth()相同，参数为JBiConsumer
+     *
+     * @param stage       上一阶段
+     * @param other       另一个阶段
+     * @param jBiConsumer 自定义函数式接口
+     * @param <T>         泛型
+     * @param <U>         泛型
+     * @return 返回值
+     */
+    public static <T, U> CompletableFuture<Void> thenAcceptBoth(CompletionStage<T> stage, CompletionStage<? extends U> other,
+                                                                JBiConsumer<? super T, ? super U> jBiConsumer) {
+        Objects.requireNonNull(jBiConsumer);
+        return stage.<U>thenAcceptBoth(other, (t, u) -> {
+            try {
+                jBiConsumer.accept(t, u);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }).toCompletableFuture();
+    }
+
+    /**************************************** 批量执行 ****************************************/
+
+    /**
+     * 在executor中执行所有任务，全部结束（无论成功失败）后返回每个任务的结果或原始异常，结果按任务在集合中的位置排列；
+     * 每个任务只占用一个Runnable，结果直接写入数组，不会为每个任务额外创建CompletableFuture
+     *
+     * @param jSuppliers 任务
+     * @param executor   线程池
+     * @param <T>        泛型
+     * @return 返回值
+     */
+    public static <T> CompletableFuture<SettledResult<T>> allSettled(Collection<? extends JSupplier<? extends T>> jSuppliers,
+                                                                     Executor executor) {
+        Objects.requireNonNull(executor);
+        Settle<T> settle = new Settle<>(jSuppliers.size());
+        int index = 0;
+        for (JSupplier<? extends T> jSupplier : jSuppliers) {
+            settle.submit(index++, jSupplier, executor);
+        }
+        return settle.result;
+    }
+
+    /**
+     * 在executor中对每个参数执行jFunction，全部结束（无论成功失败）后返回每个参数对应的结果或原始异常，结果按参数在集合中的位置排列
+     *
+     * @param jFunction 自定义函数式接口
+     * @param inputs    参数
+     * @param executor  线程池
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 返回值
+     */
+    public static <T, R> CompletableFuture<SettledResult<R>> allSettled(JFunction<? super T, ? extends R> jFunction,
+                                                                        Collection<? extends T> inputs, Executor executor) {
+        Objects.requireNonNull(jFunction);
+        Objects.requireNonNull(executor);
+        Settle<R> settle = new Settle<>(inputs.size());
+        int index = 0;
+        for (T input : inputs) {
+            settle.submit(index++, () -> jFunction.apply(input), executor);
+        }
+        return settle.result;
+    }
+
+    /**
+     * 在executor中对inputs逐个执行jFunction，同一时刻最多parallelism个调用在执行，结果按inputs的顺序返回；
+     * 返回的Stream是惰性的，消费结果的同时才从inputs中取出新的参数开启调用，占用的内存与parallelism成正比，与inputs的大小无关。
+     * 某个调用失败时，消费到该结果时抛出CompletionException（cause为原始异常），并不再开启新的调用；关闭Stream时取消尚未开始的调用
+     *
+     * @param inputs      参数
+     * @param jFunction   自定义函数式接口
+     * @param parallelism 同时执行的调用数上限
+     * @param executor    线程池
+     * @param <T>         泛型
+     * @param <R>         泛型
+     * @return 返回值
+     */
+    public static <T, R> Stream<R> mapParallel(Iterable<? extends T> inputs, JFunction<? super T, ? extends R> jFunction,
+                                               int parallelism, Executor executor) {
+        ParallelMap<T, R> parallelMap = new ParallelMap<>(inputs.iterator(), jFunction, parallelism, executor);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(parallelMap, Spliterator.ORDERED), false)
+                .onClose(parallelMap::close);
+    }
+
+    /**
+     * 同mapParallel()，按inputs的顺序把结果依次交给jConsumer，jConsumer在当前线程执行
+     *
+     * @param inputs      参数
+     * @param jFunction   自定义函数式接口
+     * @param parallelism 同时执行的调用数上限
+     * @param executor    线程池
+     * @param jConsumer   自定义函数式接口
+     * @param <T>         泛型
+     * @param <R>         泛型
+     * @throws Exception 第一个失败的调用（按inputs的顺序）或jConsumer抛出的原始异常，此时不再开启新的调用
+     */
+    public static <T, R> void forEachParallel(Iterable<? extends T> inputs, JFunction<? super T, ? extends R> jFunction,
+                                              int parallelism, Executor executor, JConsumer<? super R> jConsumer) throws Exception {
+        Objects.requireNonNull(jConsumer);
+        ParallelMap<T, R> parallelMap = new ParallelMap<>(inputs.iterator(), jFunction, parallelism, executor);
+        try {
+            while (parallelMap.hasNext()) {
+                jConsumer.accept(parallelMap.await());
+            }
+        }
+        finally {
+            parallelMap.close();
+        }
+    }
+
+    /**
+     * 同mapParallel()，结果按inputs的顺序收集到List中
+     *
+     * @param inputs      参数
+     * @param jFunction   自定义函数式接口
+     * @param parallelism 同时执行的调用数上限
+     * @param executor    线程池
+     * @param <T>         泛型
+     * @param <R>         泛型
+     * @return 返回值
+     * @throws Exception 第一个失败的调用（按inputs的顺序）抛出的原始异常
+     */
+    public static <T, R> List<R> mapParallelToList(Iterable<? extends T> inputs, JFunction<? super T, ? extends R> jFunction,
+                                                   int parallelism, Executor executor) throws Exception {
+        List<R> result = inputs instanceof Collection ? new ArrayList<>(((Collection<?>) inputs).size()) : new ArrayList<>();
+        forEachParallel(inputs, jFunction, parallelism, executor, result::add);
+        return result;
+    }
+
+    /**
+     * allSettled()的执行状态：每个任务写自己位置的数组元素，最后一个结束的任务负责完成result
+     */
+    private static final class Settle<T> {
+
+        final Object[] values;
+
+        final Throwable[] failures;
+
+        final AtomicInteger remaining;
+
+        final CompletableFuture<SettledResult<T>> result = new CompletableFuture<>();
+
+        Settle(int size) {
+            this.values = new Object[size];
+            this.failures = new Throwable[size];
+            this.remaining = new AtomicInteger(size);
+            if (size == 0) {
+                result.complete(new SettledResult<>(values, failures));
+            }
+        }
+
+        void submit(int index, JSupplier<? extends T> jSupplier, Executor executor) {
+            try {
+                executor.execute(() -> run(index, jSupplier));
+            }
+            catch (Throwable e) {
+                failures[index] = e;
+                countDown();
+            }
+        }
+
+        void run(int index, JSupplier<? extends T> jSupplier) {
+            try {
+                values[index] = jSupplier.get();
+            }
+            catch (Throwable e) {
+                failures[index] = e;
+            }
+            countDown();
+        }
+
+        void countDown() {
+            if (remaining.decrementAndGet() == 0) {
+                result.complete(new SettledResult<>(values, failures));
+            }
+        }
+    }
+
+    /**
+     * mapParallel()的滑动窗口：窗口中最多parallelism个调用，按参数顺序取出窗口头部的结果后再补充新的调用；
+     * 与Iterator一样只能在一个线程中使用
+     */
+    private static final class ParallelMap<T, R> implements Iterator<R> {
+
+        final Iterator<? extends T> inputs;
+
+        final JFunction<? super T, ? extends R> jFunction;
+
+        final int parallelism;
+
+        final Executor executor;
+
+        final ArrayDeque<CompletableFuture<R>> window;
+
+        boolean closed;
+
+        ParallelMap(Iterator<? extends T> inputs, JFunction<? super T, ? extends R> jFunction, int parallelism, Executor executor) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("parallelism必须大于0");
+            }
+            this.inputs = Objects.requireNonNull(inputs);
+            this.jFunction = Objects.requireNonNull(jFunction);
+            this.parallelism = parallelism;
+            this.executor = Objects.requireNonNull(executor);
+            this.window = new ArrayDeque<>(parallelism);
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return !window.isEmpty();
+        }
+
+        @Override
+        public R next() {
+            CompletableFuture<R> head = poll();
+            try {
+                R value = head.join();
+                fill();
+                return value;
+            }
+            catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * 同next()，失败时抛出原始异常
+         */
+        R await() throws Exception {
+            CompletableFuture<R> head = poll();
+            try {
+                R value = ExceptionUtils.await(head);
+                fill();
+                return value;
+            }
+            catch (Exception e) {
+                close();
+                throw e;
+            }
+        }
+
+        void close() {
+            closed = true;
+            for (CompletableFuture<R> future : window) {
+                // 尚未开始执行的调用会被跳过
+                future.cancel(false);
+            }
+            window.clear();
+        }
+
+        private CompletableFuture<R> poll() {
+            fill();
+            CompletableFuture<R> head = window.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            return head;
+        }
+
+        private void fill() {
+            while (!closed && window.size() < parallelism && inputs.hasNext()) {
+                T input = inputs.next();
+                window.add(supplyAsync(() -> jFunction.apply(input), executor));
+            }
+        }
+    }
+
+    /**************************************** 获取结果 ****************************************/
+
+    /**
+     * 等待完成并返回结果，失败时抛出原始异常，而不是ExecutionException/CompletionException
+     *
+     * @param future CompletableFuture
+     * @param <T>    泛型
+     * @return 返回值
+     * @throws Exception 原始异常，或等待时的InterruptedException
+     */
+    public static <T> T join(CompletableFuture<T> future) throws Exception {
+        return ExceptionUtils.await(future);
+    }
+
+    /**
+     * 在超时时间内等待完成并返回结果，失败时抛出原始异常
+     *
+     * @param future  CompletableFuture
+     * @param timeout 超时时间
+     * @param unit    时间单位
+     * @param <T>     泛型
+     * @return 返回值
+     * @throws Exception 原始异常，等待时的InterruptedException，或超时的TimeoutException
+     */
+    public static <T> T join(CompletableFuture<T> future, long timeout, TimeUnit unit) throws Exception {
+        try {
+            return future.get(timeout, unit);
+        }
+        catch (TimeoutException | InterruptedException e) {
+            throw e;
+        }
+        catch (Exception e) {
+            throw ExceptionUtils.rethrow(e);
+        }
+    }
+
+    /**
+     * 返回依赖future的副本，异常完成时的原因仍为原始异常。
+     * 多个调用方共享同一个内部future时，各自拿到副本，某个调用方cancel()或obtrude*()只影响自己的副本
+     *
+     * @param future 内部完成的CompletableFuture
+     * @param <T>    泛型
+     * @return 返回值
+     */
+    static <T> CompletableFuture<T> copy(CompletableFuture<T> future) {
+        CompletableFuture<T> copy = new CompletableFuture<>();
+        future.whenComplete((value, e) -> {
+            if (e == null) {
+                copy.complete(value);
+            }
+            else {
+                copy.completeExceptionally(e);
+            }
+        });
+        return copy;
+    }
+}
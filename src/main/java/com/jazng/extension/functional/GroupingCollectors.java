@@ -0,0 +1,364 @@
+package com.jazng.extension.functional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collector;
+
+/**
+ * @author JJ_yo
+ * 分组聚合的Collector
+ * 用Collectors.groupingByConcurrent()并行分组时，所有线程竞争同一个Map，每个分组还要创建下游Collector的容器。
+ * 这里的Collector是CONCURRENT的，容器按CPU核数分段，线程按线程id选择分段并在分段的锁内聚合到分段的HashMap分区中，
+ * 分段被占用时尝试下一个分段；计数和求和使用long[]累加器，不装箱。
+ * 分区中的key数量达到maxLocalKeys时整体合并到共享的ConcurrentHashMap并清空，结束时再合并所有分区，
+ * 因此key很多时每个分段额外占用的内存不超过maxLocalKeys个分组。分类函数和聚合函数为自定义函数式接口，抛出的异常不经包装直接抛出；
+ * 分类函数不能返回null
+ * 例：
+ * Map&lt;String, Long&gt; bytesByHost = logs.parallelStream().collect(GroupingCollectors.summingLong(Log::host, Log::bytes));
+ * 2026-10-19 22:00
+ * @version: 1.0
+ */
+public final class GroupingCollectors {
+
+    /**
+     * 默认每个分段分区的key数量上限
+     */
+    private static final int DEFAULT_MAX_LOCAL_KEYS = 1 << 14;
+
+    private static final Collector.Characteristics[] CONCURRENT = {
+            Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED};
+
+    private GroupingCollectors() {
+    }
+
+    /**
+     * 按jFunction分组计数
+     *
+     * @param jFunction 自定义函数式接口，分类函数
+     * @param <T>       泛型
+     * @param <K>       泛型
+     * @return 返回值
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> counting(JFunction<? super T, ? extends K> jFunction) {
+        return counting(jFunction, DEFAULT_MAX_LOCAL_KEYS);
+    }
+
+    /**
+     * 按jFunction分组计数
+     *
+     * @param jFunction    自定义函数式接口，分类函数
+     * @param maxLocalKeys 每个分段分区的key数量上限
+     * @param <T>          泛型
+     * @param <K>          泛型
+     * @return 返回值
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> counting(JFunction<? super T, ? extends K> jFunction, int maxLocalKeys) {
+        return collector(jFunction, new LongAggregator<>(null), maxLocalKeys);
+    }
+
+    /**
+     * 按jFunction分组，对jToLongFunction的结果求和
+     *
+     * @param jFunction       自定义函数式接口，分类函数
+     * @param jToLongFunction 自定义函数式接口
+     * @param <T>             泛型
+     * @param <K>             泛型
+     * @return 返回值
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> summingLong(JFunction<? super T, ? extends K> jFunction,
+                                                                   JToLongFunction<? super T> jToLongFunction) {
+        return summingLong(jFunction, jToLongFunction, DEFAULT_MAX_LOCAL_KEYS);
+    }
+
+    /**
+     * 按jFunction分组，对jToLongFunction的结果求和
+     *
+     * @param jFunction       自定义函数式接口，分类函数
+     * @param jToLongFunction 自定义函数式接口
+     * @param maxLocalKeys    每个分段分区的key数量上限
+     * @param <T>             泛型
+     * @param <K>             泛型
+     * @return 返回值
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> summingLong(JFunction<? super T, ? extends K> jFunction,
+                                                                   JToLongFunction<? super T> jToLongFunction, int maxLocalKeys) {
+        return collector(jFunction, new LongAggregator<>(Objects.requireNonNull(jToLongFunction)), maxLocalKeys);
+    }
+
+    /**
+     * 按jFunction分组，对mapper的结果用jBinaryOperator合并；
+     * Collector为CONCURRENT且UNORDERED，各分段的分区以任意顺序合并，jBinaryOperator的结果不能依赖参数的顺序（如字符串拼接）
+     *
+     * @param jFunction       自定义函数式接口，分类函数
+     * @param mapper          自定义函数式接口
+     * @param jBinaryOperator 自定义函数式接口，需要同时满足结合律和交换律
+     * @param <T>             泛型
+     * @param <K>             泛型
+     * @param <V>             泛型
+     * @return 返回值
+     */
+    public static <T, K, V> Collector<T, ?, Map<K, V>> reducing(JFunction<? super T, ? extends K> jFunction,
+                                                                JFunction<? super T, ? extends V> mapper,
+                                                                JBinaryOperator<V> jBinaryOperator) {
+        return reducing(jFunction, mapper, jBinaryOperator, DEFAULT_MAX_LOCAL_KEYS);
+    }
+
+    /**
+     * 按jFunction分组，对mapper的结果用jBinaryOperator合并；
+     * Collector为CONCURRENT且UNORDERED，各分段的分区以任意顺序合并，jBinaryOperator的结果不能依赖参数的顺序（如字符串拼接）
+     *
+     * @param jFunction       自定义函数式接口，分类函数
+     * @param mapper          自定义函数式接口
+     * @param jBinaryOperator 自定义函数式接口，需要同时满足结合律和交换律
+     * @param maxLocalKeys    每个分段分区的key数量上限
+     * @param <T>             泛型
+     * @param <K>             泛型
+     * @param <V>             泛型
+     * @return 返回值
+     */
+    public static <T, K, V> Collector<T, ?, Map<K, V>> reducing(JFunction<? super T, ? extends K> jFunction,
+                                                                JFunction<? super T, ? extends V> mapper,
+                                                                JBinaryOperator<V> jBinaryOperator, int maxLocalKeys) {
+        return collector(jFunction, new ReducingAggregator<>(Objects.requireNonNull(mapper), Objects.requireNonNull(jBinaryOperator)),
+                maxLocalKeys);
+    }
+
+    /****************************************************************************************************/
+
+    private static <T, K, A, R> Collector<T, ?, Map<K, R>> collector(JFunction<? super T, ? extends K> classifier,
+                                                                      Aggregator<T, A, R> aggregator, int maxLocalKeys) {
+        Objects.requireNonNull(classifier);
+        if (maxLocalKeys <= 0) {
+            throw new IllegalArgumentException("maxLocalKeys必须大于0");
+        }
+        return Collector.of(() -> new Grouping<K, A, R>(aggregator, maxLocalKeys),
+                (grouping, t) -> grouping.accept(classifier, t),
+                Grouping::merge,
+                Grouping::finish,
+                CONCURRENT);
+    }
+
+    /**
+     * 分组的累加器：创建、累加、合并、输出
+     */
+    private interface Aggregator<T, A, R> {
+
+        A create();
+
+        void add(A accumulator, T t) throws Exception;
+
+        void merge(A target, A source) throws Exception;
+
+        R finish(A accumulator);
+    }
+
+    /**
+     * 计数或求和，累加器为long[1]
+     */
+    private static final class LongAggregator<T> implements Aggregator<T, long[], Long> {
+
+        private final JToLongFunction<? super T> mapper;
+
+        LongAggregator(JToLongFunction<? super T> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        public long[] create() {
+            return new long[1];
+        }
+
+        @Override
+        public void add(long[] accumulator, T t) throws Exception {
+            accumulator[0] += mapper == null ? 1L : mapper.applyAsLong(t);
+        }
+
+        @Override
+        public void merge(long[] target, long[] source) {
+            target[0] += source[0];
+        }
+
+        @Override
+        public Long finish(long[] accumulator) {
+            return accumulator[0];
+        }
+    }
+
+    /**
+     * 用JBinaryOperator合并，累加器为Object[1]，空分组为EMPTY
+     */
+    private static final class ReducingAggregator<T, V> implements Aggregator<T, Object[], V> {
+
+        private static final Object EMPTY = new Object();
+
+        private final JFunction<? super T, ? extends V> mapper;
+
+        private final JBinaryOperator<V> operator;
+
+        ReducingAggregator(JFunction<? super T, ? extends V> mapper, JBinaryOperator<V> operator) {
+            this.mapper = mapper;
+            this.operator = operator;
+        }
+
+        @Override
+        public Object[] create() {
+            return new Object[]{EMPTY};
+        }
+
+        @Override
+        public void add(Object[] accumulator, T t) throws Exception {
+            combine(accumulator, mapper.apply(t));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void merge(Object[] target, Object[] source) throws Exception {
+            if (source[0] != EMPTY) {
+                combine(target, (V) source[0]);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V finish(Object[] accumulator) {
+            return (V) accumulator[0];
+        }
+
+        @SuppressWarnings("unchecked")
+        private void combine(Object[] accumulator, V value) throws Exception {
+            accumulator[0] = accumulator[0] == EMPTY ? value : operator.apply((V) accumulator[0], value);
+        }
+    }
+
+    /**
+     * 一次收集的状态：容器持有的分段分区加共享的ConcurrentHashMap。
+     * 线程按线程id选择分段，分段被占用时尝试下一个分段，与JCollector.concurrent()的分段容器相同；
+     * 分区属于本次收集的容器，收集正常结束或抛出异常后随容器一起回收
+     */
+    private static final class Grouping<K, A, R> {
+
+        private final Aggregator<?, A, R> aggregator;
+
+        private final int maxLocalKeys;
+
+        private final ConcurrentHashMap<K, A> shared = new ConcurrentHashMap<>();
+
+        private final Partition<K, A>[] partitions;
+
+        private final int mask;
+
+        @SuppressWarnings("unchecked")
+        Grouping(Aggregator<?, A, R> aggregator, int maxLocalKeys) {
+            this.aggregator = aggregator;
+            this.maxLocalKeys = maxLocalKeys;
+            int processors = Runtime.getRuntime().availableProcessors();
+            int size = processors == 1 ? 1 : Integer.highestOneBit(processors - 1) << 1;
+            this.partitions = (Partition<K, A>[]) new Partition<?, ?>[size];
+            this.mask = size - 1;
+            for (int i = 0; i < size; i++) {
+                partitions[i] = new Partition<>();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> void accept(JFunction<? super T, ? extends K> classifier, T t) {
+            try {
+                K key = Objects.requireNonNull(classifier.apply(t), "分类函数返回了null");
+                Partition<K, A> partition = acquire();
+                try {
+                    Map<K, A> map = partition.map;
+                    A accumulator = map.get(key);
+                    if (accumulator == null) {
+                        if (map.size() >= maxLocalKeys) {
+                            flush(map);
+                        }
+                        accumulator = aggregator.create();
+                        map.put(key, accumulator);
+                    }
+                    ((Aggregator<T, A, R>) aggregator).add(accumulator, t);
+                }
+                finally {
+                    partition.lock.unlock();
+                }
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }
+
+        Grouping<K, A, R> merge(Grouping<K, A, R> other) {
+            other.flushAll();
+            flush(other.shared);
+            return this;
+        }
+
+        Map<K, R> finish() {
+            flushAll();
+            Map<K, R> result = new HashMap<>(Math.max(16, (int) (shared.size() / 0.75F) + 1));
+            shared.forEach((key, accumulator) -> result.put(key, aggregator.finish(accumulator)));
+            return result;
+        }
+
+        /**
+         * 锁住一个分段：先尝试线程对应的分段，被占用时依次尝试其它分段，都被占用时等待线程对应的分段
+         */
+        private Partition<K, A> acquire() {
+            long id = Thread.currentThread().getId();
+            int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+            int home = (hash ^ (hash >>> 16)) & mask;
+            for (int i = 0; i <= mask; i++) {
+                Partition<K, A> partition = partitions[(home + i) & mask];
+                if (partition.lock.tryLock()) {
+                    return partition;
+                }
+            }
+            partitions[home].lock.lock();
+            return partitions[home];
+        }
+
+        /**
+         * 把分区合并到共享的Map中，分区中的累加器直接转移给共享的Map，不复制
+         */
+        private void flush(Map<K, A> map) {
+            map.forEach((key, accumulator) -> shared.merge(key, accumulator, (target, source) -> {
+                try {
+                    aggregator.merge(target, source);
+                }
+                catch (Exception e) {
+                    throw ExceptionUtils.sneakyThrow(e);
+                }
+                return target;
+            }));
+            map.clear();
+        }
+
+        /**
+         * 收集结束后合并所有分段的分区，并释放分区的Map
+         */
+        private void flushAll() {
+            for (Partition<K, A> partition : partitions) {
+                partition.lock.lock();
+                try {
+                    flush(partition.map);
+                    partition.map = new HashMap<>(0);
+                }
+                finally {
+                    partition.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * 一个分段的分区，在分段的锁内读写
+     */
+    private static final class Partition<K, A> {
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        Map<K, A> map = new HashMap<>();
+    }
+}
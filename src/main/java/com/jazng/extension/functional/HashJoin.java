@@ -0,0 +1,406 @@
+package com.jazng.extension.functional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author JJ_yo
+ * 内存中两个数据集的哈希连接
+ * 先对构建侧（通常是较小的一侧）建立索引，之后可以用不同的探测侧多次连接：inner/left/semi/anti连接以及coGroup。
+ * 索引紧凑存储：相同key的行按原顺序连续存放在一个数组中，每个不同的key只占用int类型的哈希值、链表下标和分组起点，不为每个key创建Entry和List。
+ * 探测侧在ForkJoinPool中按区间并行（使用RangeUtils），先并行计算每行匹配的分组和输出位置，再并行写入结果数组，结果按探测侧的顺序排列。
+ * 热点key（一个key匹配大量构建行）会使负责该行的任务远慢于其它任务，skewAware为true时改为按输出位置均匀拆分，热点key的输出由多个任务分担。
+ * 与SQL一致，key为null的行不与任何行匹配。key提取函数与合并函数抛出的异常原样抛出（探测侧位置最小的异常）
+ * 例：
+ * HashJoin&lt;User, Long&gt; users = HashJoin.build(userList, User::getId);
+ * List&lt;OrderView&gt; views = users.inner(orders, Order::getUserId, (order, user) -&gt; new OrderView(order, user));
+ * 2026-10-19 22:30
+ * @version: 1.0
+ */
+public final class HashJoin<B, K> {
+
+    /**
+     * 数组的最大长度
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final ForkJoinPool pool;
+
+    private final boolean skewAware;
+
+    /**
+     * 哈希桶，值为分组下标，-1表示空
+     */
+    private final int[] buckets;
+
+    private final Object[] keys;
+
+    private final int[] hashes;
+
+    /**
+     * 同一个桶中的下一个分组，-1表示结束
+     */
+    private final int[] next;
+
+    /**
+     * 第g个分组的行为rows[starts[g], starts[g + 1])
+     */
+    private final int[] starts;
+
+    private final Object[] rows;
+
+    private HashJoin(ForkJoinPool pool, boolean skewAware, int[] buckets, Object[] keys, int[] hashes, int[] next,
+                     int[] starts, Object[] rows) {
+        this.pool = pool;
+        this.skewAware = skewAware;
+        this.buckets = buckets;
+        this.keys = keys;
+        this.hashes = hashes;
+        this.next = next;
+        this.starts = starts;
+        this.rows = rows;
+    }
+
+    /**
+     * 建立构建侧的索引，探测时使用公共ForkJoinPool
+     *
+     * @param buildRows 构建侧
+     * @param jFunction 自定义函数式接口，构建侧的key
+     * @param <B>       泛型
+     * @param <K>       泛型
+     * @return 返回值
+     * @throws Exception jFunction抛出的原始异常
+     */
+    public static <B, K> HashJoin<B, K> build(Iterable<? extends B> buildRows, JFunction<? super B, ? extends K> jFunction) throws Exception {
+        return build(buildRows, jFunction, ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * 建立构建侧的索引
+     *
+     * @param buildRows 构建侧
+     * @param jFunction 自定义函数式接口，构建侧的key
+     * @param pool      探测时使用的ForkJoinPool
+     * @param skewAware 是否按输出位置拆分探测任务，适用于少数key匹配大量构建行的情况
+     * @param <B>       泛型
+     * @param <K>       泛型
+     * @return 返回值
+     * @throws Exception jFunction抛出的原始异常
+     */
+    public static <B, K> HashJoin<B, K> build(Iterable<? extends B> buildRows, JFunction<? super B, ? extends K> jFunction,
+                                              ForkJoinPool pool, boolean skewAware) throws Exception {
+        Objects.requireNonNull(jFunction);
+        Objects.requireNonNull(pool);
+        List<? extends B> source = list(buildRows);
+        int size = source.size();
+        int capacity = tableSize(size);
+        int[] buckets = new int[capacity];
+        Arrays.fill(buckets, -1);
+        Object[] keys = new Object[size];
+        int[] hashes = new int[size];
+        int[] next = new int[size];
+        int[] counts = new int[size];
+        int[] groupOfRow = new int[size];
+        int groups = 0;
+        int indexed = 0;
+        for (int i = 0; i < size; i++) {
+            K key = jFunction.apply(source.get(i));
+            if (key == null) {
+                groupOfRow[i] = -1;
+                continue;
+            }
+            int hash = hash(key);
+            int bucket = hash & (capacity - 1);
+            int group = buckets[bucket];
+            while (group >= 0 && (hashes[group] != hash || !key.equals(keys[group]))) {
+                group = next[group];
+            }
+            if (group < 0) {
+                group = groups++;
+                keys[group] = key;
+                hashes[group] = hash;
+                next[group] = buckets[bucket];
+                buckets[bucket] = group;
+            }
+            counts[group]++;
+            groupOfRow[i] = group;
+            indexed++;
+        }
+        int[] starts = new int[groups + 1];
+        for (int g = 0; g < groups; g++) {
+            starts[g + 1] = starts[g] + counts[g];
+        }
+        // 按分组连续存放，同一分组内保持原顺序
+        Object[] rows = new Object[indexed];
+        int[] cursor = Arrays.copyOf(starts, groups);
+        for (int i = 0; i < size; i++) {
+            int group = groupOfRow[i];
+            if (group >= 0) {
+                rows[cursor[group]++] = source.get(i);
+            }
+        }
+        return new HashJoin<>(pool, skewAware, buckets, Arrays.copyOf(keys, groups), Arrays.copyOf(hashes, groups),
+                Arrays.copyOf(next, groups), starts, rows);
+    }
+
+    /**
+     * 不同key的数量
+     *
+     * @return 返回值
+     */
+    public int keyCount() {
+        return keys.length;
+    }
+
+    /**
+     * 与key匹配的构建行
+     *
+     * @param key key
+     * @return 返回值，没有匹配时为空List
+     */
+    public List<B> get(Object key) {
+        return group(find(key));
+    }
+
+    /**
+     * 内连接：探测侧的每一行与每个匹配的构建行合并一次，没有匹配的行不输出
+     *
+     * @param probeRows   探测侧
+     * @param jFunction   自定义函数式接口，探测侧的key
+     * @param jBiFunction 自定义函数式接口，合并探测行与构建行
+     * @param <P>         泛型
+     * @param <O>         泛型
+     * @return 返回值，按探测侧的顺序，同一探测行的结果按构建侧的顺序
+     * @throws Exception 探测侧位置最小的原始异常
+     */
+    public <P, O> List<O> inner(Iterable<? extends P> probeRows, JFunction<? super P, ? extends K> jFunction,
+                                JBiFunction<? super P, ? super B, ? extends O> jBiFunction) throws Exception {
+        return join(list(probeRows), jFunction, jBiFunction, false);
+    }
+
+    /**
+     * 左连接：同内连接，没有匹配的探测行与null合并一次
+     *
+     * @param probeRows   探测侧
+     * @param jFunction   自定义函数式接口，探测侧的key
+     * @param jBiFunction 自定义函数式接口，合并探测行与构建行，构建行可能为null
+     * @param <P>         泛型
+     * @param <O>         泛型
+     * @return 返回值，按探测侧的顺序，同一探测行的结果按构建侧的顺序
+     * @throws Exception 探测侧位置最小的原始异常
+     */
+    public <P, O> List<O> left(Iterable<? extends P> probeRows, JFunction<? super P, ? extends K> jFunction,
+                               JBiFunction<? super P, ? super B, ? extends O> jBiFunction) throws Exception {
+        return join(list(probeRows), jFunction, jBiFunction, true);
+    }
+
+    /**
+     * 半连接：有匹配的探测行，每行只输出一次
+     *
+     * @param probeRows 探测侧
+     * @param jFunction 自定义函数式接口，探测侧的key
+     * @param <P>       泛型
+     * @return 返回值，按探测侧的顺序
+     * @throws Exception 探测侧位置最小的原始异常
+     */
+    public <P> List<P> semi(Iterable<? extends P> probeRows, JFunction<? super P, ? extends K> jFunction) throws Exception {
+        return filter(list(probeRows), jFunction, true);
+    }
+
+    /**
+     * 反连接：没有匹配的探测行（包括key为null的行）
+     *
+     * @param probeRows 探测侧
+     * @param jFunction 自定义函数式接口，探测侧的key
+     * @param <P>       泛型
+     * @return 返回值，按探测侧的顺序
+     * @throws Exception 探测侧位置最小的原始异常
+     */
+    public <P> List<P> anti(Iterable<? extends P> probeRows, JFunction<? super P, ? extends K> jFunction) throws Exception {
+        return filter(list(probeRows), jFunction, false);
+    }
+
+    /**
+     * 按key分组后合并两侧：探测侧的每个key输出一次（按第一次出现的顺序），之后是只在构建侧出现的key（按构建侧第一次出现的顺序）；
+     * 一侧没有该key时对应的List为空
+     *
+     * @param probeRows   探测侧
+     * @param jFunction   自定义函数式接口，探测侧的key
+     * @param jBiFunction 自定义函数式接口，参数为同一个key的探测行和构建行
+     * @param <P>         泛型
+     * @param <O>         泛型
+     * @return 返回值
+     * @throws Exception 原始异常
+     */
+    public <P, O> List<O> coGroup(Iterable<? extends P> probeRows, JFunction<? super P, ? extends K> jFunction,
+                                  JBiFunction<? super List<P>, ? super List<B>, ? extends O> jBiFunction) throws Exception {
+        Objects.requireNonNull(jBiFunction);
+        HashJoin<P, K> probe = build(probeRows, jFunction, pool, skewAware);
+        int probeGroups = probe.keys.length;
+        int[] matched = new int[probeGroups];
+        boolean[] used = new boolean[keys.length];
+        for (int g = 0; g < probeGroups; g++) {
+            matched[g] = find(probe.keys[g]);
+            if (matched[g] >= 0) {
+                used[matched[g]] = true;
+            }
+        }
+        List<Integer> buildOnly = new ArrayList<>();
+        for (int g = 0; g < keys.length; g++) {
+            if (!used[g]) {
+                buildOnly.add(g);
+            }
+        }
+        return RangeUtils.map(0, probeGroups + buildOnly.size(), i -> i < probeGroups
+                ? jBiFunction.apply(probe.group(i), group(matched[i]))
+                : jBiFunction.apply(Collections.<P>emptyList(), group(buildOnly.get(i - probeGroups))), 0, pool);
+    }
+
+    /****************************************************************************************************/
+
+    @SuppressWarnings("unchecked")
+    private <P, O> List<O> join(List<? extends P> probe, JFunction<? super P, ? extends K> jFunction,
+                                JBiFunction<? super P, ? super B, ? extends O> jBiFunction, boolean outer) throws Exception {
+        Objects.requireNonNull(jBiFunction);
+        int size = probe.size();
+        int[] groupOf = lookup(probe, jFunction);
+        // offsets[i]为第i个探测行的第一个输出位置
+        long[] offsets = new long[size + 1];
+        for (int i = 0; i < size; i++) {
+            int group = groupOf[i];
+            offsets[i + 1] = offsets[i] + (group >= 0 ? starts[group + 1] - starts[group] : outer ? 1 : 0);
+        }
+        long total = offsets[size];
+        if (total > MAX_ARRAY_SIZE) {
+            throw new IllegalStateException("连接结果有" + total + "行，超过了数组的最大长度");
+        }
+        Object[] output = new Object[(int) total];
+        if (!skewAware) {
+            RangeUtils.forEach(0, size, i -> {
+                P row = probe.get(i);
+                int group = groupOf[i];
+                int position = (int) offsets[i];
+                if (group < 0) {
+                    if (outer) {
+                        output[position] = jBiFunction.apply(row, null);
+                    }
+                    return null;
+                }
+                for (int r = starts[group], end = starts[group + 1]; r < end; r++) {
+                    output[position++] = jBiFunction.apply(row, (B) rows[r]);
+                }
+                return null;
+            }, 0, pool);
+        }
+        else {
+            // 按输出位置均匀拆分，每段先二分查找起始的探测行，再顺序写入
+            long chunk = Math.max(256L, total / ((long) pool.getParallelism() << 4));
+            long chunks = (total + chunk - 1) / chunk;
+            RangeUtils.forEachLong(0, chunks, c -> {
+                int from = (int) (c * chunk);
+                int to = (int) Math.min(total, from + chunk);
+                int i = floor(offsets, from);
+                for (int position = from; position < to; position++) {
+                    while (offsets[i + 1] <= position) {
+                        i++;
+                    }
+                    int group = groupOf[i];
+                    output[position] = group < 0
+                            ? jBiFunction.apply(probe.get(i), null)
+                            : jBiFunction.apply(probe.get(i), (B) rows[starts[group] + (int) (position - offsets[i])]);
+                }
+                return null;
+            }, 1L, pool);
+        }
+        return (List<O>) Arrays.asList(output);
+    }
+
+    private <P> List<P> filter(List<? extends P> probe, JFunction<? super P, ? extends K> jFunction, boolean matching) throws Exception {
+        int[] groupOf = lookup(probe, jFunction);
+        List<P> result = new ArrayList<>();
+        for (int i = 0; i < groupOf.length; i++) {
+            if (groupOf[i] >= 0 == matching) {
+                result.add(probe.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 并行计算每个探测行匹配的分组
+     */
+    private <P> int[] lookup(List<? extends P> probe, JFunction<? super P, ? extends K> jFunction) throws Exception {
+        Objects.requireNonNull(jFunction);
+        int[] groupOf = new int[probe.size()];
+        RangeUtils.forEach(0, groupOf.length, i -> {
+            groupOf[i] = find(jFunction.apply(probe.get(i)));
+            return null;
+        }, 0, pool);
+        return groupOf;
+    }
+
+    private int find(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        int hash = hash(key);
+        int group = buckets[hash & (buckets.length - 1)];
+        while (group >= 0 && (hashes[group] != hash || !key.equals(keys[group]))) {
+            group = next[group];
+        }
+        return group;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<B> group(int group) {
+        if (group < 0) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList((List<B>) Arrays.asList(rows).subList(starts[group], starts[group + 1]));
+    }
+
+    /**
+     * offsets中最后一个不大于position、且之后还有输出的探测行
+     */
+    private static int floor(long[] offsets, long position) {
+        int low = 0;
+        int high = offsets.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= position) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSize(int size) {
+        int capacity = 2;
+        while (capacity < size + (size >>> 1) && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static <T> List<? extends T> list(Iterable<? extends T> iterable) {
+        if (iterable instanceof List && iterable instanceof RandomAccess) {
+            return (List<? extends T>) iterable;
+        }
+        List<T> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,399 @@
+package com.jazng.extension.functional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author JJ_yo
+ * 增量计算图
+ * 输入是可修改的Cell，派生值是其它节点的JFunction/JBiFunction。每次修改Cell时图的版本号加1，
+ * 派生值在get()时才按需计算（拉取式）：上次计算后读取过的节点都没有变化时直接复用上次的结果；
+ * 重新计算的结果与上次相等（equals）时视为没有变化，依赖它的节点也不需要重新计算（提前截止）。
+ * 已确认是最新版本的派生值可以无锁读取；需要验证或重新计算时在图的锁内进行，计算期间图的修改会等待
+ * 例：
+ * IncrementalGraph graph = new IncrementalGraph();
+ * IncrementalGraph.Cell&lt;List&lt;Order&gt;&gt; orders = graph.cell("orders", initial);
+ * IncrementalGraph.Derived&lt;BigDecimal&gt; total = graph.derive("total", orders, this::sum);
+ * orders.set(changed);
+ * total.get();
+ * 2026-10-19 18:40
+ * @version: 1.0
+ */
+public final class IncrementalGraph {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile long revision = 1L;
+
+    /**
+     * 当前版本号，每次有Cell的值变化时加1
+     *
+     * @return 返回值
+     */
+    public long revision() {
+        return revision;
+    }
+
+    /**
+     * 创建输入节点
+     *
+     * @param name    节点名称
+     * @param initial 初始值
+     * @param <T>     泛型
+     * @return 返回值
+     */
+    public <T> Cell<T> cell(String name, T initial) {
+        return new Cell<>(this, name, initial);
+    }
+
+    /**
+     * 创建依赖一个节点的派生节点
+     *
+     * @param name      节点名称
+     * @param a         依赖的节点
+     * @param jFunction 自定义函数式接口
+     * @param <A>       泛型
+     * @param <T>       泛型
+     * @return 返回值
+     */
+    public <A, T> Derived<T> derive(String name, Node<A> a, JFunction<? super A, ? extends T> jFunction) {
+        Objects.requireNonNull(jFunction);
+        return derive(name, inputs -> jFunction.apply(inputs.get(a)), a);
+    }
+
+    /**
+     * 创建依赖两个节点的派生节点
+     *
+     * @param name        节点名称
+     * @param a           依赖的节点
+     * @param b           依赖的节点
+     * @param jBiFunction 自定义函数式接口
+     * @param <A>         泛型
+     * @param <B>         泛型
+     * @param <T>         泛型
+     * @return 返回值
+     */
+    public <A, B, T> Derived<T> derive(String name, Node<A> a, Node<B> b, JBiFunction<? super A, ? super B, ? extends T> jBiFunction) {
+        Objects.requireNonNull(jBiFunction);
+        return derive(name, inputs -> jBiFunction.apply(inputs.get(a), inputs.get(b)), a, b);
+    }
+
+    /**
+     * 创建依赖任意多个节点的派生节点，jFunction通过Inputs.get()读取依赖节点的值；
+     * 只有本次计算实际读取过的节点会被记录，条件分支中未读取的节点变化时不会引起重新计算
+     *
+     * @param name         节点名称
+     * @param jFunction    自定义函数式接口
+     * @param dependencies 依赖的节点
+     * @param <T>          泛型
+     * @return 返回值
+     */
+    public <T> Derived<T> derive(String name, JFunction<? super Inputs, ? extends T> jFunction, Node<?>... dependencies) {
+        for (Node<?> dependency : dependencies) {
+            if (Objects.requireNonNull(dependency).graph != this) {
+                throw new IllegalArgumentException(dependency + "不属于这个IncrementalGraph");
+            }
+        }
+        return new Derived<>(this, name, Objects.requireNonNull(jFunction), dependencies.clone());
+    }
+
+    /**
+     * 节点
+     */
+    public abstract static class Node<T> {
+
+        final IncrementalGraph graph;
+
+        final String name;
+
+        private Node(IncrementalGraph graph, String name) {
+            this.graph = graph;
+            this.name = Objects.requireNonNull(name);
+        }
+
+        /**
+         * 当前版本的值
+         *
+         * @return 返回值
+         * @throws Exception 计算该值时抛出的原始异常
+         */
+        public abstract T get() throws Exception;
+
+        /**
+         * 节点名称
+         *
+         * @return 返回值
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * 在图的锁内把节点更新到当前版本
+         */
+        abstract void refresh();
+
+        /**
+         * 值最近一次变化时的版本号，需要先refresh()
+         */
+        abstract long changedAt();
+
+        /**
+         * 当前的值，需要先refresh()
+         */
+        abstract T current() throws Exception;
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * 输入节点
+     */
+    public static final class Cell<T> extends Node<T> {
+
+        private volatile T value;
+
+        private long changedAt;
+
+        private Cell(IncrementalGraph graph, String name, T value) {
+            super(graph, name);
+            this.value = value;
+            this.changedAt = graph.revision;
+        }
+
+        @Override
+        public T get() {
+            return value;
+        }
+
+        /**
+         * 修改值，与原来的值相等（equals）时不产生新版本
+         *
+         * @param value 新的值
+         */
+        public void set(T value) {
+            ReentrantLock lock = graph.lock;
+            lock.lock();
+            try {
+                if (Objects.equals(this.value, value)) {
+                    return;
+                }
+                long next = graph.revision + 1;
+                this.value = value;
+                this.changedAt = next;
+                graph.revision = next;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 基于原来的值修改
+         *
+         * @param jUnaryOperator 自定义函数式接口
+         * @throws Exception jUnaryOperator抛出的原始异常，此时值不变
+         */
+        public void update(JUnaryOperator<T> jUnaryOperator) throws Exception {
+            ReentrantLock lock = graph.lock;
+            lock.lock();
+            try {
+                set(jUnaryOperator.apply(value));
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        void refresh() {
+        }
+
+        @Override
+        long changedAt() {
+            return changedAt;
+        }
+
+        @Override
+        T current() {
+            return value;
+        }
+    }
+
+    /**
+     * 派生节点
+     */
+    public static final class Derived<T> extends Node<T> {
+
+        private final JFunction<? super Inputs, ? extends T> function;
+
+        private final Node<?>[] dependencies;
+
+        private final LongAdder computeCount = new LongAdder();
+
+        private volatile Memo<T> memo;
+
+        private Derived(IncrementalGraph graph, String name, JFunction<? super Inputs, ? extends T> function, Node<?>[] dependencies) {
+            super(graph, name);
+            this.function = function;
+            this.dependencies = dependencies;
+        }
+
+        @Override
+        public T get() throws Exception {
+            Memo<T> current = memo;
+            if (current != null && current.verifiedAt == graph.revision) {
+                return current.value();
+            }
+            ReentrantLock lock = graph.lock;
+            lock.lock();
+            try {
+                refresh();
+                return memo.value();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 实际执行计算的次数
+         *
+         * @return 返回值
+         */
+        public long computeCount() {
+            return computeCount.sum();
+        }
+
+        @Override
+        void refresh() {
+            long revision = graph.revision;
+            Memo<T> previous = memo;
+            if (previous != null && previous.verifiedAt == revision) {
+                return;
+            }
+            if (previous != null && !changedSince(previous)) {
+                memo = new Memo<>(previous.value, previous.failure, previous.changedAt, revision, previous.reads);
+                return;
+            }
+            Inputs inputs = new Inputs(this);
+            T value = null;
+            Throwable failure = null;
+            try {
+                value = function.apply(inputs);
+            }
+            catch (Throwable e) {
+                failure = e;
+            }
+            computeCount.increment();
+            Node<?>[] reads = inputs.reads.toArray(new Node<?>[0]);
+            if (previous != null && failure == null && previous.failure == null && Objects.equals(previous.value, value)) {
+                // 提前截止：结果没有变化，保留原来的changedAt
+                memo = new Memo<>(previous.value, null, previous.changedAt, revision, reads);
+            }
+            else {
+                memo = new Memo<>(value, failure, revision, revision, reads);
+            }
+        }
+
+        /**
+         * 上次计算读取过的节点在上次验证之后是否有变化
+         */
+        private boolean changedSince(Memo<T> previous) {
+            for (Node<?> read : previous.reads) {
+                read.refresh();
+                if (read.changedAt() > previous.verifiedAt) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        long changedAt() {
+            return memo.changedAt;
+        }
+
+        @Override
+        T current() throws Exception {
+            return memo.value();
+        }
+    }
+
+    /**
+     * 派生节点在某个版本的结果，整体替换以便无锁读取
+     */
+    private static final class Memo<T> {
+
+        final T value;
+
+        final Throwable failure;
+
+        final long changedAt;
+
+        final long verifiedAt;
+
+        final Node<?>[] reads;
+
+        Memo(T value, Throwable failure, long changedAt, long verifiedAt, Node<?>[] reads) {
+            this.value = value;
+            this.failure = failure;
+            this.changedAt = changedAt;
+            this.verifiedAt = verifiedAt;
+            this.reads = reads;
+        }
+
+        T value() throws Exception {
+            if (failure != null) {
+                throw ExceptionUtils.rethrow(failure);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 派生节点计算时读取依赖节点的值，并记录读取过的节点
+     */
+    public static final class Inputs {
+
+        private final Derived<?> node;
+
+        private final List<Node<?>> reads = new ArrayList<>(4);
+
+        private Inputs(Derived<?> node) {
+            this.node = node;
+        }
+
+        /**
+         * 依赖节点在当前版本的值，只能读取声明过的依赖
+         *
+         * @param dependency 依赖的节点
+         * @param <A>        泛型
+         * @return 返回值
+         * @throws Exception 依赖节点计算时抛出的原始异常
+         */
+        public <A> A get(Node<A> dependency) throws Exception {
+            boolean declared = false;
+            for (Node<?> candidate : node.dependencies) {
+                if (candidate == dependency) {
+                    declared = true;
+                    break;
+                }
+            }
+            if (!declared) {
+                throw new IllegalArgumentException(dependency + "不是" + node + "的依赖");
+            }
+            if (!reads.contains(dependency)) {
+                reads.add(dependency);
+            }
+            dependency.refresh();
+            return dependency.current();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * @author JJ_yo
+ * 自定义函数式接口的Collector
+ * 与Collector.of()相同，supplier/accumulator/combiner/finisher为自定义函数式接口，可以在其中读取数据等抛出受检异常，
+ * 返回的是标准的Collector，可以直接用于Stream.collect()；抛出的异常不经包装直接抛出（在JStream.collect()中同样是原始异常）。
+ * concurrent()返回CONCURRENT的Collector：并行Stream的所有线程向同一个分段容器中累加，每段一个容器和一把锁，
+ * 线程按线程id选择分段，分段被占用时尝试下一个分段，结束时只合并各分段的容器，不需要合并每个线程各自的容器
+ * 例：
+ * Collector&lt;Long, ?, Map&lt;Long, User&gt;&gt; collector = JCollector.concurrent(HashMap::new, (map, id) -&gt; map.put(id, userDao.findById(id)), (a, b) -&gt; { a.putAll(b); return a; });
+ * 2026-10-19 19:40
+ * @version: 1.0
+ */
+public final class JCollector {
+
+    private static final Collector.Characteristics[] CONCURRENT = {
+            Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED};
+
+    private JCollector() {
+    }
+
+    /**
+     * 与Collector.of(Supplier, BiConsumer, BinaryOperator, Characteristics...)相同，参数为自定义函数式接口
+     *
+     * @param jSupplier       自定义函数式接口
+     * @param jBiConsumer     自定义函数式接口
+     * @param jBinaryOperator 自定义函数式接口
+     * @param characteristics 特性
+     * @param <T>             泛型
+     * @param <R>             泛型
+     * @return 返回值
+     */
+    public static <T, R> Collector<T, R, R> of(JSupplier<R> jSupplier, JBiConsumer<R, T> jBiConsumer,
+                                               JBinaryOperator<R> jBinaryOperator, Collector.Characteristics... characteristics) {
+        return Collector.of(supplier(jSupplier), accumulator(jBiConsumer), combiner(jBinaryOperator), characteristics);
+    }
+
+    /**
+     * 与Collector.of(Supplier, BiConsumer, BinaryOperator, Function, Characteristics...)相同，参数为自定义函数式接口
+     *
+     * @param jSupplier       自定义函数式接口
+     * @param jBiConsumer     自定义函数式接口
+     * @param jBinaryOperator 自定义函数式接口
+     * @param jFunction       自定义函数式接口
+     * @param characteristics 特性
+     * @param <T>             泛型
+     * @param <A>             泛型
+     * @param <R>             泛型
+     * @return 返回值
+     */
+    public static <T, A, R> Collector<T, A, R> of(JSupplier<A> jSupplier, JBiConsumer<A, T> jBiConsumer, JBinaryOperator<A> jBinaryOperator,
+                                                  JFunction<A, R> jFunction, Collector.Characteristics... characteristics) {
+        return Collector.of(supplier(jSupplier), accumulator(jBiConsumer), combiner(jBinaryOperator), finisher(jFunction), characteristics);
+    }
+
+    /**
+     * CONCURRENT的Collector，分段数为CPU核数向上取2的幂
+     *
+     * @param jSupplier       自定义函数式接口，每个分段调用一次
+     * @param jBiConsumer     自定义函数式接口，在分段的锁内调用
+     * @param jBinaryOperator 自定义函数式接口，结束时合并各分段
+     * @param <T>             泛型
+     * @param <A>             泛型
+     * @return 返回值
+     */
+    public static <T, A> Collector<T, ?, A> concurrent(JSupplier<A> jSupplier, JBiConsumer<A, T> jBiConsumer,
+                                                       JBinaryOperator<A> jBinaryOperator) {
+        return concurrent(jSupplier, jBiConsumer, jBinaryOperator, a -> a, defaultStripes());
+    }
+
+    /**
+     * CONCURRENT的Collector，分段数为CPU核数向上取2的幂
+     *
+     * @param jSupplier       自定义函数式接口，每个分段调用一次
+     * @param jBiConsumer     自定义函数式接口，在分段的锁内调用
+     * @param jBinaryOperator 自定义函数式接口，结束时合并各分段
+     * @param jFunction       自定义函数式接口，合并后的结果转换
+     * @param <T>             泛型
+     * @param <A>             泛型
+     * @param <R>             泛型
+     * @return 返回值
+     */
+    public static <T, A, R> Collector<T, ?, R> concurrent(JSupplier<A> jSupplier, JBiConsumer<A, T> jBiConsumer,
+                                                          JBinaryOperator<A> jBinaryOperator, JFunction<A, R> jFunction) {
+        return concurrent(jSupplier, jBiConsumer, jBinaryOperator, jFunction, defaultStripes());
+    }
+
+    /**
+     * CONCURRENT的Collector
+     *
+     * @param jSupplier       自定义函数式接口，每个分段调用一次
+     * @param jBiConsumer     自定义函数式接口，在分段的锁内调用
+     * @param jBinaryOperator 自定义函数式接口，结束时合并各分段
+     * @param jFunction       自定义函数式接口，合并后的结果转换
+     * @param stripes         分段数，向上取2的幂
+     * @param <T>             泛型
+     * @param <A>             泛型
+     * @param <R>             泛型
+     * @return 返回值
+     */
+    public static <T, A, R> Collector<T, ?, R> concurrent(JSupplier<A> jSupplier, JBiConsumer<A, T> jBiConsumer,
+                                                          JBinaryOperator<A> jBinaryOperator, JFunction<A, R> jFunction, int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes必须大于0");
+        }
+        Objects.requireNonNull(jSupplier);
+        Objects.requireNonNull(jBiConsumer);
+        Objects.requireNonNull(jBinaryOperator);
+        Objects.requireNonNull(jFunction);
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        return Collector.of(() -> new Striped<>(jSupplier, size),
+                (striped, t) -> striped.accumulate(t, jBiConsumer),
+                (left, right) -> left.merge(right, jBinaryOperator),
+                striped -> striped.finish(jBinaryOperator, jFunction),
+                CONCURRENT);
+    }
+
+    /****************************************************************************************************/
+
+    private static int defaultStripes() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private static <A> Supplier<A> supplier(JSupplier<A> jSupplier) {
+        Objects.requireNonNull(jSupplier);
+        return () -> {
+            try {
+                return jSupplier.get();
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        };
+    }
+
+    private static <A, T> BiConsumer<A, T> accumulator(JBiConsumer<A, T> jBiConsumer) {
+        Objects.requireNonNull(jBiConsumer);
+        return (a, t) -> {
+            try {
+                jBiConsumer.accept(a, t);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        };
+    }
+
+    private static <A> BinaryOperator<A> combiner(JBinaryOperator<A> jBinaryOperator) {
+        Objects.requireNonNull(jBinaryOperator);
+        return (left, right) -> {
+            try {
+                return jBinaryOperator.apply(left, right);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        };
+    }
+
+    private static <A, R> Function<A, R> finisher(JFunction<A, R> jFunction) {
+        Objects.requireNonNull(jFunction);
+        return a -> {
+            try {
+                return jFunction.apply(a);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        };
+    }
+
+    /**
+     * 分段容器，各分段的容器在第一次使用时创建
+     */
+    private static final class Striped<A> {
+
+        private final JSupplier<A> supplier;
+
+        private final ReentrantLock[] locks;
+
+        private final Object[] containers;
+
+        private final int mask;
+
+        Striped(JSupplier<A> supplier, int size) {
+            this.supplier = supplier;
+            this.locks = new ReentrantLock[size];
+            this.containers = new Object[size];
+            this.mask = size - 1;
+            for (int i = 0; i < size; i++) {
+                locks[i] = new ReentrantLock();
+            }
+        }
+
+        <T> void accumulate(T t, JBiConsumer<A, T> accumulator) {
+            int index = acquire();
+            try {
+                accumulator.accept(container(index), t);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+            finally {
+                locks[index].unlock();
+            }
+        }
+
+        Striped<A> merge(Striped<A> other, JBinaryOperator<A> combiner) {
+            for (int i = 0; i < containers.length; i++) {
+                A right = other.get(i);
+                if (right == null) {
+                    continue;
+                }
+                A left = get(i);
+                try {
+                    containers[i] = left == null ? right : combiner.apply(left, right);
+                }
+                catch (Exception e) {
+                    throw ExceptionUtils.sneakyThrow(e);
+                }
+            }
+            return this;
+        }
+
+        <R> R finish(JBinaryOperator<A> combiner, JFunction<A, R> finisher) {
+            try {
+                A result = null;
+                for (int i = 0; i < containers.length; i++) {
+                    A container = get(i);
+                    if (container != null) {
+                        result = result == null ? container : combiner.apply(result, container);
+                    }
+                }
+                return finisher.apply(result == null ? supplier.get() : result);
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }
+
+        /**
+         * 锁住一个分段：先尝试线程对应的分段，被占用时依次尝试其它分段，都被占用时等待线程对应的分段
+         */
+        private int acquire() {
+            int home = index();
+            for (int i = 0; i <= mask; i++) {
+                int index = (home + i) & mask;
+                if (locks[index].tryLock()) {
+                    return index;
+                }
+            }
+            locks[home].lock();
+            return home;
+        }
+
+        private int index() {
+            long id = Thread.currentThread().getId();
+            int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        private A container(int index) throws Exception {
+            A container = get(index);
+            if (container == null) {
+                container = supplier.get();
+                containers[index] = container;
+            }
+            return container;
+        }
+
+        @SuppressWarnings("unchecked")
+        private A get(int index) {
+            return (A) containers[index];
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.jazng.extension.functional;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * @author JJ_yo
+ * 自定义函数式接口
+ * 自定义函数式接口，定义一个与DoubleBinaryOperator同样的方法，在实际使用中，我们可以使用此方法代替DoubleBinaryOperator中的applyAsDouble方法
+ * 2026-10-19 23:50
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface JDoubleBinaryOperator {
+
+    /**
+     * 与DoubleBinaryOperator同样的方法，可抛异常
+     *
+     * @param left  参数
+     * @param right 参数
+     * @return 返回值
+     * @throws Exception 异常
+     */
+    double applyAsDouble(double left, double right) throws Exception;
+
+    /****************************************************************************************************/
+
+    /**
+     * 对JDoubleBinaryOperator进行封装，返回一个DoubleBinaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jDoubleBinaryOperator 自定义函数式接口
+     * @return 返回值
+     */
+    static DoubleBinaryOperator allowThrowException(JDoubleBinaryOperator jDoubleBinaryOperator) {
+        return (left, right) -> {
+            try {
+                return jDoubleBinaryOperator.applyAsDouble(left, right);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * 对JDoubleBinaryOperator进行封装，返回一个DoubleBinaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jDoubleBinaryOperator 自定义函数式接口
+     * @param description           业务描述
+     * @return 返回值
+     */
+    static DoubleBinaryOperator allowThrowException(JDoubleBinaryOperator jDoubleBinaryOperator, String description) {
+        return (left, right) -> {
+            try {
+                return jDoubleBinaryOperator.applyAsDouble(left, right);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(description + "异常，" + e.getMessage());
+            }
+        };
+    }
+}
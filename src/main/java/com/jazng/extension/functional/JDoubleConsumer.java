@@ -0,0 +1,74 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * @author JJ_yo
+ * 自定义函数式接口
+ * 自定义函数式接口，定义一个与DoubleConsumer同样的方法，在实际使用中，我们可以使用此方法代替DoubleConsumer中的accept方法
+ * 2026-10-19 23:50
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface JDoubleConsumer {
+
+    /**
+     * 与DoubleConsumer同样的方法，可抛异常
+     *
+     * @param value 参数
+     * @throws Exception 异常
+     */
+    void accept(double value) throws Exception;
+
+    /**
+     * 与DoubleConsumer同样的方法，接口为自定义
+     *
+     * @param after 参数
+     * @return 返回值
+     */
+    default JDoubleConsumer andThen(JDoubleConsumer after) {
+        Objects.requireNonNull(after);
+        return (double value) -> {
+            accept(value);
+            after.accept(value);
+        };
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 对JDoubleConsumer进行封装，返回一个DoubleConsumer，内部将编译异常转成运行时异常
+     *
+     * @param jDoubleConsumer 自定义函数式接口
+     * @return 返回值
+     */
+    static DoubleConsumer allowThrowException(JDoubleConsumer jDoubleConsumer) {
+        return value -> {
+            try {
+                jDoubleConsumer.accept(value);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * 对JDoubleConsumer进行封装，返回一个DoubleConsumer，内部将编译异常转成运行时异常
+     *
+     * @param jDoubleConsumer 自定义函数式接口
+     * @param description     业务描述
+     * @return 返回值
+     */
+    static DoubleConsumer allowThrowException(JDoubleConsumer jDoubleConsumer, String description) {
+        return value -> {
+            try {
+                jDoubleConsumer.accept(value);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(description + "异常，" + e.getMessage());
+            }
+        };
+    }
+}
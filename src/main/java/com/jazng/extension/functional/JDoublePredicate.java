@@ -0,0 +1,92 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.function.DoublePredicate;
+
+/**
+ * @author JJ_yo
+ * 自定义函数式接口
+ * 自定义函数式接口，定义一个与DoublePredicate同样的方法，在实际使用中，我们可以使用此方法代替DoublePredicate中的test方法
+ * 2026-10-19 23:50
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface JDoublePredicate {
+
+    /**
+     * 与DoublePredicate同样的方法，可抛异常
+     *
+     * @param value 参数
+     * @return 返回值
+     * @throws Exception 异常
+     */
+    boolean test(double value) throws Exception;
+
+    /**
+     * 与DoublePredicate同样的方法，接口为自定义
+     *
+     * @param other 参数
+     * @return 返回值
+     */
+    default JDoublePredicate and(JDoublePredicate other) {
+        Objects.requireNonNull(other);
+        return (value) -> test(value) && other.test(value);
+    }
+
+    /**
+     * 与DoublePredicate同样的方法，接口为自定义
+     *
+     * @return 返回值
+     */
+    default JDoublePredicate negate() {
+        return (value) -> !test(value);
+    }
+
+    /**
+     * 与DoublePredicate同样的方法，接口为自定义
+     *
+     * @param other 参数
+     * @return 返回值
+     */
+    default JDoublePredicate or(JDoublePredicate other) {
+        Objects.requireNonNull(other);
+        return (value) -> test(value) || other.test(value);
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 对JDoublePredicate进行封装，返回一个DoublePredicate，内部将编译异常转成运行时异常
+     *
+     * @param jDoublePredicate 自定义函数式接口
+     * @return 返回值
+     */
+    static DoublePredicate allowThrowException(JDoublePredicate jDoublePredicate) {
+        return value -> {
+            try {
+                return jDoublePredicate.test(value);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * 对JDoublePredicate进行封装，返回一个DoublePredicate，内部将编译异常转成运行时异常
+     *
+     * @param jDoublePredicate 自定义函数式接口
+     * @param description      业务描述
+     * @return 返回值
+     */
+    static DoublePredicate allowThrowException(JDoublePredicate jDoublePredicate, String description) {
+        return value -> {
+            try {
+                return jDoublePredicate.test(value);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(description + "异常，" + e.getMessage());
+            }
+        };
+    }
+}
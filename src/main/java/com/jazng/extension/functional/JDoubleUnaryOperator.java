@@ -0,0 +1,92 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * @author JJ_yo
+ * 自定义函数式接口
+ * 自定义函数式接口，定义一个与DoubleUnaryOperator同样的方法，在实际使用中，我们可以使用此方法代替DoubleUnaryOperator中的applyAsDouble方法
+ * 2026-10-19 23:50
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface JDoubleUnaryOperator {
+
+    /**
+     * 与DoubleUnaryOperator同样的方法，可抛异常
+     *
+     * @param operand 参数
+     * @return 返回值
+     * @throws Exception 异常
+     */
+    double applyAsDouble(double operand) throws Exception;
+
+    /**
+     * 与DoubleUnaryOperator同样的方法，接口为自定义
+     *
+     * @param before 参数
+     * @return 返回值
+     */
+    default JDoubleUnaryOperator compose(JDoubleUnaryOperator before) {
+        Objects.requireNonNull(before);
+        return (double value) -> applyAsDouble(before.applyAsDouble(value));
+    }
+
+    /**
+     * 与DoubleUnaryOperator同样的方法，接口为自定义
+     *
+     * @param after 参数
+     * @return 返回值
+     */
+    default JDoubleUnaryOperator andThen(JDoubleUnaryOperator after) {
+        Objects.requireNonNull(after);
+        return (double value) -> after.applyAsDouble(applyAsDouble(value));
+    }
+
+    /**
+     * 与DoubleUnaryOperator同样的方法，接口为自定义
+     *
+     * @return 返回值
+     */
+    static JDoubleUnaryOperator identity() {
+        return value -> value;
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 对JDoubleUnaryOperator进行封装，返回一个DoubleUnaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jDoubleUnaryOperator 自定义函数式接口
+     * @return 返回值
+     */
+    static DoubleUnaryOperator allowThrowException(JDoubleUnaryOperator jDoubleUnaryOperator) {
+        return operand -> {
+            try {
+                return jDoubleUnaryOperator.applyAsDouble(operand);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * 对JDoubleUnaryOperator进行封装，返回一个DoubleUnaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jDoubleUnaryOperator 自定义函数式接口
+     * @param description          业务描述
+     * @return 返回值
+     */
+    static DoubleUnaryOperator allowThrowException(JDoubleUnaryOperator jDoubleUnaryOperator, String description) {
+        return operand -> {
+            try {
+                return jDoubleUnaryOperator.applyAsDouble(operand);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(description + "异常，" + e.getMessage());
+            }
+        };
+    }
+}
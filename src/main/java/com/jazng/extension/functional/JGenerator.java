@@ -0,0 +1,329 @@
+package com.jazng.extension.functional;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author JJ_yo
+ * 惰性生成器
+ * 把JSupplier（返回null表示结束）或初始值加JUnaryOperator（返回null表示结束）转换成惰性的Iterator/Spliterator/Stream，
+ * 只在取下一个元素时才调用。指定预取数量prefetch时，在executor中提前取后面的prefetch个元素，调用方处理当前元素的同时下一页已经在加载；
+ * 预取任务只在缓冲区未满时运行，缓冲区满了就退出，不会一直占用executor中的线程。
+ * JSupplier抛出的异常在调用方取到该位置时原样抛出（hasNext()/next()中不经包装抛出受检异常），之后生成器结束；
+ * close()后不再生成新的元素，正在执行的预取任务会被中断，阻塞在hasNext()中的调用方返回false
+ * 例：
+ * try (JGenerator&lt;Page&gt; pages = JGenerator.iterate(client.first(), client::next, 2, executor)) {
+ * pages.forEach(this::save);
+ * }
+ * 2026-10-19 20:10
+ * @version: 1.0
+ */
+public final class JGenerator<T> implements Iterator<T>, AutoCloseable {
+
+    /**
+     * 缓冲区中表示结束的标记
+     */
+    private static final Object END = new Object();
+
+    private final JSupplier<? extends T> source;
+
+    private final int prefetch;
+
+    private final Executor executor;
+
+    /**
+     * 预取时的缓冲区，元素为值、END或Failure
+     */
+    private final BlockingQueue<Object> buffer;
+
+    private final AtomicBoolean producing = new AtomicBoolean();
+
+    private volatile boolean closed;
+
+    private volatile FutureTask<Void> task;
+
+    /**
+     * 预取任务已经生成了END或Failure，只由预取任务读写
+     */
+    private boolean exhausted;
+
+    private Object next;
+
+    private boolean finished;
+
+    private JGenerator(JSupplier<? extends T> source, int prefetch, Executor executor) {
+        this.source = source;
+        this.prefetch = prefetch;
+        this.executor = executor;
+        this.buffer = prefetch > 0 ? new LinkedBlockingQueue<>() : null;
+    }
+
+    /**
+     * 由JSupplier生成，返回null时结束
+     *
+     * @param jSupplier 自定义函数式接口
+     * @param <T>       泛型
+     * @return 返回值
+     */
+    public static <T> JGenerator<T> from(JSupplier<? extends T> jSupplier) {
+        return new JGenerator<>(Objects.requireNonNull(jSupplier), 0, null);
+    }
+
+    /**
+     * 由JSupplier生成，返回null时结束，在executor中预取后面的prefetch个元素
+     *
+     * @param jSupplier 自定义函数式接口
+     * @param prefetch  预取数量
+     * @param executor  执行预取的线程池
+     * @param <T>       泛型
+     * @return 返回值
+     */
+    public static <T> JGenerator<T> from(JSupplier<? extends T> jSupplier, int prefetch, Executor executor) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch必须大于0");
+        }
+        return new JGenerator<>(Objects.requireNonNull(jSupplier), prefetch, Objects.requireNonNull(executor));
+    }
+
+    /**
+     * 由初始值和步进函数生成：seed, step(seed), step(step(seed))...，seed或步进函数返回null时结束
+     *
+     * @param seed           初始值
+     * @param jUnaryOperator 自定义函数式接口
+     * @param <T>            泛型
+     * @return 返回值
+     */
+    public static <T> JGenerator<T> iterate(T seed, JUnaryOperator<T> jUnaryOperator) {
+        return from(new Step<>(seed, jUnaryOperator));
+    }
+
+    /**
+     * 由初始值和步进函数生成，seed或步进函数返回null时结束，在executor中预取后面的prefetch个元素
+     *
+     * @param seed           初始值
+     * @param jUnaryOperator 自定义函数式接口
+     * @param prefetch       预取数量
+     * @param executor       执行预取的线程池
+     * @param <T>            泛型
+     * @return 返回值
+     */
+    public static <T> JGenerator<T> iterate(T seed, JUnaryOperator<T> jUnaryOperator, int prefetch, Executor executor) {
+        return from(new Step<>(seed, jUnaryOperator), prefetch, executor);
+    }
+
+    /**
+     * 是否还有下一个元素，需要时阻塞到下一个元素生成
+     *
+     * @return 返回值
+     */
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        Object element = prefetch > 0 ? take() : generate();
+        if (element == END) {
+            finished = true;
+            return false;
+        }
+        if (element instanceof Failure) {
+            finished = true;
+            throw ExceptionUtils.sneakyThrow(((Failure) element).cause);
+        }
+        next = element;
+        return true;
+    }
+
+    /**
+     * 下一个元素
+     *
+     * @return 返回值
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object element = next;
+        next = null;
+        return (T) element;
+    }
+
+    /**
+     * 依次处理剩余的元素
+     *
+     * @param jConsumer 自定义函数式接口
+     * @throws Exception 生成元素或jConsumer抛出的原始异常
+     */
+    public void forEach(JConsumer<? super T> jConsumer) throws Exception {
+        Objects.requireNonNull(jConsumer);
+        while (hasNext()) {
+            jConsumer.accept(next());
+        }
+    }
+
+    /**
+     * 剩余元素的Spliterator
+     *
+     * @return 返回值
+     */
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * 剩余元素的Stream，Stream关闭时关闭生成器
+     *
+     * @return 返回值
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(this::close);
+    }
+
+    /**
+     * 停止生成，丢弃已预取的元素并中断正在执行的预取任务
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        FutureTask<Void> current = task;
+        if (current != null) {
+            current.cancel(true);
+        }
+        if (buffer != null) {
+            buffer.clear();
+            buffer.offer(END);
+        }
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 不预取时在调用方线程中生成
+     */
+    private Object generate() {
+        if (closed) {
+            return END;
+        }
+        try {
+            T value = source.get();
+            return value == null ? END : value;
+        }
+        catch (Exception e) {
+            return new Failure(e);
+        }
+    }
+
+    /**
+     * 预取时从缓冲区中取，缓冲区不足prefetch个时启动预取任务
+     */
+    private Object take() {
+        if (closed) {
+            return END;
+        }
+        refill();
+        Object element;
+        try {
+            element = buffer.take();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Failure(e);
+        }
+        if (element != END && !(element instanceof Failure)) {
+            refill();
+        }
+        return element;
+    }
+
+    private void refill() {
+        if (buffer.size() < prefetch && !closed && producing.compareAndSet(false, true)) {
+            FutureTask<Void> current = new FutureTask<>(this::produce, null);
+            task = current;
+            try {
+                executor.execute(current);
+            }
+            catch (RuntimeException e) {
+                producing.set(false);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 预取任务：生成到缓冲区中有prefetch个元素后退出；退出前再次检查，避免调用方在退出期间取走元素后没有新的预取任务
+     */
+    private void produce() {
+        do {
+            while (!exhausted && !closed && buffer.size() < prefetch) {
+                Object element = generate();
+                if (closed) {
+                    break;
+                }
+                exhausted = element == END || element instanceof Failure;
+                buffer.offer(element);
+            }
+            producing.set(false);
+        }
+        while (!exhausted && !closed && buffer.size() < prefetch && producing.compareAndSet(false, true));
+    }
+
+    /**
+     * 生成时抛出的异常
+     */
+    private static final class Failure {
+
+        final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * 初始值加步进函数
+     */
+    private static final class Step<T> implements JSupplier<T> {
+
+        private final JUnaryOperator<T> step;
+
+        private T current;
+
+        private boolean started;
+
+        Step(T seed, JUnaryOperator<T> step) {
+            this.current = seed;
+            this.step = Objects.requireNonNull(step);
+        }
+
+        @Override
+        public T get() throws Exception {
+            if (!started) {
+                started = true;
+                return current;
+            }
+            if (current == null) {
+                return null;
+            }
+            current = step.apply(current);
+            return current;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.jazng.extension.functional;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * @author JJ_yo
+ * 自定义函数式接口
+ * 自定义函数式接口，定义一个与IntBinaryOperator同样的方法，在实际使用中，我们可以使用此方法代替IntBinaryOperator中的applyAsInt方法
+ * 2026-10-19 23:50
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface JIntBinaryOperator {
+
+    /**
+     * 与IntBinaryOperator同样的方法，可抛异常
+     *
+     * @param left  参数
+     * @param right 参数
+     * @return 返回值
+     * @throws Exception 异常
+     */
+    int applyAsInt(int left, int right) throws Exception;
+
+    /****************************************************************************************************/
+
+    /**
+     * 对JIntBinaryOperator进行封装，返回一个IntBinaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jIntBinaryOperator 自定义函数式接口
+     * @return 返回值
+     */
+    static IntBinaryOperator allowThrowException(JIntBinaryOperator jIntBinaryOperator) {
+        return (left, right) -> {
+            try {
+                return jIntBinaryOperator.applyAsInt(left, right);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * 对JIntBinaryOperator进行封装，返回一个IntBinaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jIntBinaryOperator 自定义函数式接口
+     * @param description        业务描述
+     * @return 返回值
+     */
+    static IntBinaryOperator allowThrowException(JIntBinaryOperator jIntBinaryOperator, String description) {
+        return (left, right) -> {
+            try {
+                return jIntBinaryOperator.applyAsInt(left, right);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(description + "异常，" + e.getMessage());
+            }
+        };
+    }
+}
@@ -21,6 +21,42 @@ public interface JIntFunction<R> {
      */
     R apply(int value) throws Exception;
 
+    /**
+     * 对JIntFunction进行缓存，key不装箱，缓存数量不设上限
+     *
+     * @param jIntFunction 自定义函数式接口
+     * @param <R>          泛型
+     * @return 返回值
+     */
+    static <R> IntMemoFunction<R> memoize(JIntFunction<R> jIntFunction) {
+        return new IntMemoFunction<>(jIntFunction, 0, 0, 0);
+    }
+
+    /**
+     * 对JIntFunction进行缓存，key不装箱，表按需增长；key按hash分到16个分段，每段最多缓存maxEntries/16个结果，某段写满时整段清空后重新填充（不做逐条淘汰）
+     *
+     * @param jIntFunction 自定义函数式接口
+     * @param maxEntries   最大缓存数量
+     * @param <R>          泛型
+     * @return 返回值
+     */
+    static <R> IntMemoFunction<R> memoizeBounded(JIntFunction<R> jIntFunction, int maxEntries) {
+        return new IntMemoFunction<>(jIntFunction, maxEntries, 0, 0);
+    }
+
+    /**
+     * 对JIntFunction进行缓存，key在[from, to)区间内时直接用数组下标存取结果，适用于key取值范围较小的场景，区间外的key按无界模式缓存
+     *
+     * @param jIntFunction 自定义函数式接口
+     * @param from         区间起点（包含）
+     * @param to           区间终点（不包含）
+     * @param <R>          泛型
+     * @return 返回值
+     */
+    static <R> IntMemoFunction<R> memoizeDense(JIntFunction<R> jIntFunction, int from, int to) {
+        return new IntMemoFunction<>(jIntFunction, 0, from, to);
+    }
+
     /****************************************************************************************************/
 
     /**
@@ -0,0 +1,92 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/**
+ * @author JJ_yo
+ * 自定义函数式接口
+ * 自定义函数式接口，定义一个与IntPredicate同样的方法，在实际使用中，我们可以使用此方法代替IntPredicate中的test方法
+ * 2026-10-19 23:50
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface JIntPredicate {
+
+    /**
+     * 与IntPredicate同样的方法，可抛异常
+     *
+     * @param value 参数
+     * @return 返回值
+     * @throws Exception 异常
+     */
+    boolean test(int value) throws Exception;
+
+    /**
+     * 与IntPredicate同样的方法，接口为自定义
+     *
+     * @param other 参数
+     * @return 返回值
+     */
+    default JIntPredicate and(JIntPredicate other) {
+        Objects.requireNonNull(other);
+        return (value) -> test(value) && other.test(value);
+    }
+
+    /**
+     * 与IntPredicate同样的方法，接口为自定义
+     *
+     * @return 返回值
+     */
+    default JIntPredicate negate() {
+        return (value) -> !test(value);
+    }
+
+    /**
+     * 与IntPredicate同样的方法，接口为自定义
+     *
+     * @param other 参数
+     * @return 返回值
+     */
+    default JIntPredicate or(JIntPredicate other) {
+        Objects.requireNonNull(other);
+        return (value) -> test(value) || other.test(value);
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 对JIntPredicate进行封装，返回一个IntPredicate，内部将编译异常转成运行时异常
+     *
+     * @param jIntPredicate 自定义函数式接口
+     * @return 返回值
+     */
+    static IntPredicate allowThrowException(JIntPredicate jIntPredicate) {
+        return value -> {
+            try {
+                return jIntPredicate.test(value);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * 对JIntPredicate进行封装，返回一个IntPredicate，内部将编译异常转成运行时异常
+     *
+     * @param jIntPredicate 自定义函数式接口
+     * @param description   业务描述
+     * @return 返回值
+     */
+    static IntPredicate allowThrowException(JIntPredicate jIntPredicate, String description) {
+        return value -> {
+            try {
+                return jIntPredicate.test(value);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(description + "异常，" + e.getMessage());
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * @author JJ_yo
+ * 自定义函数式接口
+ * 自定义函数式接口，定义一个与IntUnaryOperator同样的方法，在实际使用中，我们可以使用此方法代替IntUnaryOperator中的applyAsInt方法
+ * 2026-10-19 23:50
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface JIntUnaryOperator {
+
+    /**
+     * 与IntUnaryOperator同样的方法，可抛异常
+     *
+     * @param operand 参数
+     * @return 返回值
+     * @throws Exception 异常
+     */
+    int applyAsInt(int operand) throws Exception;
+
+    /**
+     * 与IntUnaryOperator同样的方法，接口为自定义
+     *
+     * @param before 参数
+     * @return 返回值
+     */
+    default JIntUnaryOperator compose(JIntUnaryOperator before) {
+        Objects.requireNonNull(before);
+        return (int value) -> applyAsInt(before.applyAsInt(value));
+    }
+
+    /**
+     * 与IntUnaryOperator同样的方法，接口为自定义
+     *
+     * @param after 参数
+     * @return 返回值
+     */
+    default JIntUnaryOperator andThen(JIntUnaryOperator after) {
+        Objects.requireNonNull(after);
+        return (int value) -> after.applyAsInt(applyAsInt(value));
+    }
+
+    /**
+     * 与IntUnaryOperator同样的方法，接口为自定义
+     *
+     * @return 返回值
+     */
+    static JIntUnaryOperator identity() {
+        return value -> value;
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 对JIntUnaryOperator进行封装，返回一个IntUnaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jIntUnaryOperator 自定义函数式接口
+     * @return 返回值
+     */
+    static IntUnaryOperator allowThrowException(JIntUnaryOperator jIntUnaryOperator) {
+        return operand -> {
+            try {
+                return jIntUnaryOperator.applyAsInt(operand);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * 对JIntUnaryOperator进行封装，返回一个IntUnaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jIntUnaryOperator 自定义函数式接口
+     * @param description       业务描述
+     * @return 返回值
+     */
+    static IntUnaryOperator allowThrowException(JIntUnaryOperator jIntUnaryOperator, String description) {
+        return operand -> {
+            try {
+                return jIntUnaryOperator.applyAsInt(operand);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(description + "异常，" + e.getMessage());
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.jazng.extension.functional;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * @author JJ_yo
+ * 自定义函数式接口
+ * 自定义函数式接口，定义一个与LongBinaryOperator同样的方法，在实际使用中，我们可以使用此方法代替LongBinaryOperator中的applyAsLong方法
+ * 2026-10-19 23:50
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface JLongBinaryOperator {
+
+    /**
+     * 与LongBinaryOperator同样的方法，可抛异常
+     *
+     * @param left  参数
+     * @param right 参数
+     * @return 返回值
+     * @throws Exception 异常
+     */
+    long applyAsLong(long left, long right) throws Exception;
+
+    /****************************************************************************************************/
+
+    /**
+     * 对JLongBinaryOperator进行封装，返回一个LongBinaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jLongBinaryOperator 自定义函数式接口
+     * @return 返回值
+     */
+    static LongBinaryOperator allowThrowException(JLongBinaryOperator jLongBinaryOperator) {
+        return (left, right) -> {
+            try {
+                return jLongBinaryOperator.applyAsLong(left, right);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * 对JLongBinaryOperator进行封装，返回一个LongBinaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jLongBinaryOperator 自定义函数式接口
+     * @param description         业务描述
+     * @return 返回值
+     */
+    static LongBinaryOperator allowThrowException(JLongBinaryOperator jLongBinaryOperator, String description) {
+        return (left, right) -> {
+            try {
+                return jLongBinaryOperator.applyAsLong(left, right);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(description + "异常，" + e.getMessage());
+            }
+        };
+    }
+}
@@ -21,6 +21,42 @@ public interface JLongFunction<R> {
      */
     R apply(long value) throws Exception;
 
+    /**
+     * 对JLongFunction进行缓存，key不装箱，缓存数量不设上限
+     *
+     * @param jLongFunction 自定义函数式接口
+     * @param <R>           泛型
+     * @return 返回值
+     */
+    static <R> LongMemoFunction<R> memoize(JLongFunction<R> jLongFunction) {
+        return new LongMemoFunction<>(jLongFunction, 0, 0, 0);
+    }
+
+    /**
+     * 对JLongFunction进行缓存，key不装箱，表按需增长；key按hash分到16个分段，每段最多缓存maxEntries/16个结果，某段写满时整段清空后重新填充（不做逐条淘汰）
+     *
+     * @param jLongFunction 自定义函数式接口
+     * @param maxEntries    最大缓存数量
+     * @param <R>           泛型
+     * @return 返回值
+     */
+    static <R> LongMemoFunction<R> memoizeBounded(JLongFunction<R> jLongFunction, int maxEntries) {
+        return new LongMemoFunction<>(jLongFunction, maxEntries, 0, 0);
+    }
+
+    /**
+     * 对JLongFunction进行缓存，key在[from, to)区间内时直接用数组下标存取结果，适用于key取值范围较小的场景，区间外的key按无界模式缓存
+     *
+     * @param jLongFunction 自定义函数式接口
+     * @param from          区间起点（包含）
+     * @param to            区间终点（不包含）
+     * @param <R>           泛型
+     * @return 返回值
+     */
+    static <R> LongMemoFunction<R> memoizeDense(JLongFunction<R> jLongFunction, long from, long to) {
+        return new LongMemoFunction<>(jLongFunction, 0, from, to);
+    }
+
     /****************************************************************************************************/
 
     /**
@@ -0,0 +1,92 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.function.LongPredicate;
+
+/**
+ * @author JJ_yo
+ * 自定义函数式接口
+ * 自定义函数式接口，定义一个与LongPredicate同样的方法，在实际使用中，我们可以使用此方法代替LongPredicate中的test方法
+ * 2026-10-19 23:50
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface JLongPredicate {
+
+    /**
+     * 与LongPredicate同样的方法，可抛异常
+     *
+     * @param value 参数
+     * @return 返回值
+     * @throws Exception 异常
+     */
+    boolean test(long value) throws Exception;
+
+    /**
+     * 与LongPredicate同样的方法，接口为自定义
+     *
+     * @param other 参数
+     * @return 返回值
+     */
+    default JLongPredicate and(JLongPredicate other) {
+        Objects.requireNonNull(other);
+        return (value) -> test(value) && other.test(value);
+    }
+
+    /**
+     * 与LongPredicate同样的方法，接口为自定义
+     *
+     * @return 返回值
+     */
+    default JLongPredicate negate() {
+        return (value) -> !test(value);
+    }
+
+    /**
+     * 与LongPredicate同样的方法，接口为自定义
+     *
+     * @param other 参数
+     * @return 返回值
+     */
+    default JLongPredicate or(JLongPredicate other) {
+        Objects.requireNonNull(other);
+        return (value) -> test(value) || other.test(value);
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 对JLongPredicate进行封装，返回一个LongPredicate，内部将编译异常转成运行时异常
+     *
+     * @param jLongPredicate 自定义函数式接口
+     * @return 返回值
+     */
+    static LongPredicate allowThrowException(JLongPredicate jLongPredicate) {
+        return value -> {
+            try {
+                return jLongPredicate.test(value);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * 对JLongPredicate进行封装，返回一个LongPredicate，内部将编译异常转成运行时异常
+     *
+     * @param jLongPredicate 自定义函数式接口
+     * @param description    业务描述
+     * @return 返回值
+     */
+    static LongPredicate allowThrowException(JLongPredicate jLongPredicate, String description) {
+        return value -> {
+            try {
+                return jLongPredicate.test(value);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(description + "异常，" + e.getMessage());
+            }
+        };
+    }
+}
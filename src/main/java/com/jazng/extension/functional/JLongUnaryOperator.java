@@ -0,0 +1,92 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * @author JJ_yo
+ * 自定义函数式接口
+ * 自定义函数式接口，定义一个与LongUnaryOperator同样的方法，在实际使用中，我们可以使用此方法代替LongUnaryOperator中的applyAsLong方法
+ * 2026-10-19 20:30
+ * @version: 1.0
+ */
+@FunctionalInterface
+public interface JLongUnaryOperator {
+
+    /**
+     * 与LongUnaryOperator同样的方法，可抛异常
+     *
+     * @param operand 参数
+     * @return 返回值
+     * @throws Exception 异常
+     */
+    long applyAsLong(long operand) throws Exception;
+
+    /**
+     * 与LongUnaryOperator同样的方法，接口为自定义
+     *
+     * @param before 参数
+     * @return 返回值
+     */
+    default JLongUnaryOperator compose(JLongUnaryOperator before) {
+        Objects.requireNonNull(before);
+        return (long value) -> applyAsLong(before.applyAsLong(value));
+    }
+
+    /**
+     * 与LongUnaryOperator同样的方法，接口为自定义
+     *
+     * @param after 参数
+     * @return 返回值
+     */
+    default JLongUnaryOperator andThen(JLongUnaryOperator after) {
+        Objects.requireNonNull(after);
+        return (long value) -> after.applyAsLong(applyAsLong(value));
+    }
+
+    /**
+     * 与LongUnaryOperator同样的方法，接口为自定义
+     *
+     * @return 返回值
+     */
+    static JLongUnaryOperator identity() {
+        return value -> value;
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 对JLongUnaryOperator进行封装，返回一个LongUnaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jLongUnaryOperator 自定义函数式接口
+     * @return 返回值
+     */
+    static LongUnaryOperator allowThrowException(JLongUnaryOperator jLongUnaryOperator) {
+        return operand -> {
+            try {
+                return jLongUnaryOperator.applyAsLong(operand);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * 对JLongUnaryOperator进行封装，返回一个LongUnaryOperator，内部将编译异常转成运行时异常
+     *
+     * @param jLongUnaryOperator 自定义函数式接口
+     * @param description        业务描述
+     * @return 返回值
+     */
+    static LongUnaryOperator allowThrowException(JLongUnaryOperator jLongUnaryOperator, String description) {
+        return operand -> {
+            try {
+                return jLongUnaryOperator.applyAsLong(operand);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(description + "异常，" + e.getMessage());
+            }
+        };
+    }
+}
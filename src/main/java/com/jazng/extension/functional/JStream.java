@@ -0,0 +1,1827 @@
+package com.jazng.extension.functional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author JJ_yo
+ * 直接接收自定义函数式接口的Stream
+ * map/filter/flatMap/forEach/reduce等方法直接接收JFunction/JPredicate/JConsumer/JBinaryOperator，不再需要逐个用allowThrowException()包装；
+ * 异常的处理方式在创建时通过ErrorPolicy统一指定，而不是每个lambda各自处理：
+ * FAIL_FAST —— 第一个异常结束整个Stream，终止操作抛出该原始异常（并行时同样是原始异常）；
+ * SKIP —— 跳过抛出异常的元素；
+ * SUBSTITUTE —— 抛出异常的元素使用默认值，与FunctionalUtils一致：对象为null，filter/match为false，数值为-1；
+ * COLLECT —— 与SKIP相同，同时收集所有异常，终止操作结束后通过errors()获取。
+ * 支持parallel()，并提供int/long/double的原始类型版本
+ * 例：
+ * List&lt;User&gt; users = JStream.of(ids.stream(), JStream.ErrorPolicy.COLLECT).parallel().map(userDao::findById).toList();
+ * 2026-10-19 19:10
+ * @version: 1.0
+ */
+public final class JStream<T> implements AutoCloseable {
+
+    /**
+     * 异常处理方式
+     */
+    public enum ErrorPolicy {
+        /**
+         * 第一个异常结束整个Stream，终止操作抛出该原始异常
+         */
+        FAIL_FAST,
+        /**
+         * 跳过抛出异常的元素
+         */
+        SKIP,
+        /**
+         * 抛出异常的元素使用默认值：对象为null，filter/match为false，数值为-1
+         */
+        SUBSTITUTE,
+        /**
+         * 跳过抛出异常的元素，并收集所有异常
+         */
+        COLLECT
+    }
+
+    /**
+     * SKIP/COLLECT时标记被跳过的元素，随后由filter去掉
+     */
+    private static final Object SKIPPED = new Object();
+
+    private static final Predicate<Object> NOT_SKIPPED = element -> element != SKIPPED;
+
+    private final Stream<T> stream;
+
+    private final Context context;
+
+    private JStream(Stream<T> stream, Context context) {
+        this.stream = stream;
+        this.context = context;
+    }
+
+    /**
+     * 包装Stream，异常处理方式为FAIL_FAST
+     *
+     * @param stream Stream
+     * @param <T>    泛型
+     * @return 返回值
+     */
+    public static <T> JStream<T> of(Stream<T> stream) {
+        return of(stream, ErrorPolicy.FAIL_FAST);
+    }
+
+    /**
+     * 包装Stream
+     *
+     * @param stream Stream
+     * @param policy 异常处理方式
+     * @param <T>    泛型
+     * @return 返回值
+     */
+    public static <T> JStream<T> of(Stream<T> stream, ErrorPolicy policy) {
+        return new JStream<>(Objects.requireNonNull(stream), new Context(policy));
+    }
+
+    /**
+     * 包装IntStream
+     *
+     * @param stream IntStream
+     * @param policy 异常处理方式
+     * @return 返回值
+     */
+    public static OfInt ofInt(IntStream stream, ErrorPolicy policy) {
+        return new OfInt(Objects.requireNonNull(stream), new Context(policy));
+    }
+
+    /**
+     * 包装LongStream
+     *
+     * @param stream LongStream
+     * @param policy 异常处理方式
+     * @return 返回值
+     */
+    public static OfLong ofLong(LongStream stream, ErrorPolicy policy) {
+        return new OfLong(Objects.requireNonNull(stream), new Context(policy));
+    }
+
+    /**
+     * 包装DoubleStream
+     *
+     * @param stream DoubleStream
+     * @param policy 异常处理方式
+     * @return 返回值
+     */
+    public static OfDouble ofDouble(DoubleStream stream, ErrorPolicy policy) {
+        return new OfDouble(Objects.requireNonNull(stream), new Context(policy));
+    }
+
+    /**************************************** 中间操作 ****************************************/
+
+    /**
+     * 与Stream.map()相同，参数为JFunction
+     *
+     * @param jFunction 自定义函数式接口
+     * @param <R>       泛型
+     * @return 返回值
+     */
+    public <R> JStream<R> map(JFunction<? super T, ? extends R> jFunction) {
+        Objects.requireNonNull(jFunction);
+        Context context = this.context;
+        return next(context.mapObj(stream, t -> {
+            try {
+                return jFunction.apply(t);
+            }
+            catch (Exception e) {
+                return context.failedObj(e);
+            }
+        }));
+    }
+
+    /**
+     * 与Stream.filter()相同，参数为JPredicate；抛出异常的元素不保留
+     *
+     * @param jPredicate 自定义函数式接口
+     * @return 返回值
+     */
+    public JStream<T> filter(JPredicate<? super T> jPredicate) {
+        Objects.requireNonNull(jPredicate);
+        return next(stream.filter(context.predicate(jPredicate)));
+    }
+
+    /**
+     * 与Stream.flatMap()相同，参数为JFunction；抛出异常的元素展开为空
+     *
+     * @param jFunction 自定义函数式接口
+     * @param <R>       泛型
+     * @return 返回值
+     */
+    public <R> JStream<R> flatMap(JFunction<? super T, ? extends Stream<? extends R>> jFunction) {
+        Objects.requireNonNull(jFunction);
+        Context context = this.context;
+        return next(stream.flatMap(t -> {
+            try {
+                return jFunction.apply(t);
+            }
+            catch (Exception e) {
+                context.failed(e);
+                return null;
+            }
+        }));
+    }
+
+    /**
+     * 与Stream.peek()相同，参数为JConsumer；jConsumer抛出异常时元素仍然保留
+     *
+     * @param jConsumer 自定义函数式接口
+     * @return 返回值
+     */
+    public JStream<T> peek(JConsumer<? super T> jConsumer) {
+        Objects.requireNonNull(jConsumer);
+        return next(stream.peek(context.consumer(jConsumer)));
+    }
+
+    /**
+     * 与Stream.mapToInt()相同，参数为JToIntFunction
+     *
+     * @param jToIntFunction 自定义函数式接口
+     * @return 返回值
+     */
+    public OfInt mapToInt(JToIntFunction<? super T> jToIntFunction) {
+        Objects.requireNonNull(jToIntFunction);
+        Context context = this.context;
+        if (context.dropsFailures()) {
+            return new OfInt(StreamSupport.intStream(new ToIntSpliterator<>(stream.spliterator(), jToIntFunction, context),
+                    stream.isParallel()).onClose(stream::close), context);
+        }
+        return new OfInt(stream.mapToInt(t -> {
+            try {
+                return jToIntFunction.applyAsInt(t);
+            }
+            catch (Exception e) {
+                context.failed(e);
+                return -1;
+            }
+        }), context);
+    }
+
+    /**
+     * 与Stream.mapToLong()相同，参数为JToLongFunction
+     *
+     * @param jToLongFunction 自定义函数式接口
+     * @return 返回值
+     */
+    public OfLong mapToLong(JToLongFunction<? super T> jToLongFunction) {
+        Objects.requireNonNull(jToLongFunction);
+        Context context = this.context;
+        if (context.dropsFailures()) {
+            return new OfLong(StreamSupport.longStream(new ToLongSpliterator<>(stream.spliterator(), jToLongFunction, context),
+                    stream.isParallel()).onClose(stream::close), context);
+        }
+        return new OfLong(stream.mapToLong(t -> {
+            try {
+                return jToLongFunction.applyAsLong(t);
+            }
+            catch (Exception e) {
+                context.failed(e);
+                return -1L;
+            }
+        }), context);
+    }
+
+    /**
+     * 与Stream.mapToDouble()相同，参数为JToDoubleFunction
+     *
+     * @param jToDoubleFunction 自定义函数式接口
+     * @return 返回值
+     */
+    public OfDouble mapToDouble(JToDoubleFunction<? super T> jToDoubleFunction) {
+        Objects.requireNonNull(jToDoubleFunction);
+        Context context = this.context;
+        if (context.dropsFailures()) {
+            return new OfDouble(StreamSupport.doubleStream(new ToDoubleSpliterator<>(stream.spliterator(), jToDoubleFunction, context),
+                    stream.isParallel()).onClose(stream::close), context);
+        }
+        return new OfDouble(stream.mapToDouble(t -> {
+            try {
+                return jToDoubleFunction.applyAsDouble(t);
+            }
+            catch (Exception e) {
+                context.failed(e);
+                return -1D;
+            }
+        }), context);
+    }
+
+    /**
+     * 与Stream.distinct()相同
+     *
+     * @return 返回值
+     */
+    public JStream<T> distinct() {
+        return next(stream.distinct());
+    }
+
+    /**
+     * 与Stream.sorted()相同
+     *
+     * @return 返回值
+     */
+    public JStream<T> sorted() {
+        return next(stream.sorted());
+    }
+
+    /**
+     * 与Stream.sorted(Comparator)相同
+     *
+     * @param comparator 比较器
+     * @return 返回值
+     */
+    public JStream<T> sorted(Comparator<? super T> comparator) {
+        return next(stream.sorted(comparator));
+    }
+
+    /**
+     * 与Stream.limit()相同
+     *
+     * @param maxSize 最大数量
+     * @return 返回值
+     */
+    public JStream<T> limit(long maxSize) {
+        return next(stream.limit(maxSize));
+    }
+
+    /**
+     * 与Stream.skip()相同
+     *
+     * @param n 跳过的数量
+     * @return 返回值
+     */
+    public JStream<T> skip(long n) {
+        return next(stream.skip(n));
+    }
+
+    /**
+     * 与Stream.parallel()相同
+     *
+     * @return 返回值
+     */
+    public JStream<T> parallel() {
+        return next(stream.parallel());
+    }
+
+    /**
+     * 与Stream.sequential()相同
+     *
+     * @return 返回值
+     */
+    public JStream<T> sequential() {
+        return next(stream.sequential());
+    }
+
+    /**
+     * 与Stream.unordered()相同
+     *
+     * @return 返回值
+     */
+    public JStream<T> unordered() {
+        return next(stream.unordered());
+    }
+
+    /**************************************** 终止操作 ****************************************/
+
+    /**
+     * 与Stream.forEach()相同，参数为JConsumer
+     *
+     * @param jConsumer 自定义函数式接口
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public void forEach(JConsumer<? super T> jConsumer) throws Exception {
+        Objects.requireNonNull(jConsumer);
+        Consumer<T> consumer = context.consumer(jConsumer);
+        context.call(stream, () -> {
+            stream.forEach(consumer);
+            return null;
+        });
+    }
+
+    /**
+     * 与Stream.forEachOrdered()相同，参数为JConsumer
+     *
+     * @param jConsumer 自定义函数式接口
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public void forEachOrdered(JConsumer<? super T> jConsumer) throws Exception {
+        Objects.requireNonNull(jConsumer);
+        Consumer<T> consumer = context.consumer(jConsumer);
+        context.call(stream, () -> {
+            stream.forEachOrdered(consumer);
+            return null;
+        });
+    }
+
+    /**
+     * 与Stream.reduce(BinaryOperator)相同，参数为JBinaryOperator；合并时抛出异常，非FAIL_FAST时保留左边的值
+     *
+     * @param jBinaryOperator 自定义函数式接口
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public Optional<T> reduce(JBinaryOperator<T> jBinaryOperator) throws Exception {
+        BinaryOperator<T> operator = context.binaryOperator(jBinaryOperator);
+        return context.call(stream, () -> stream.reduce(operator));
+    }
+
+    /**
+     * 与Stream.reduce(T, BinaryOperator)相同，参数为JBinaryOperator；合并时抛出异常，非FAIL_FAST时保留左边的值
+     *
+     * @param identity        初始值
+     * @param jBinaryOperator 自定义函数式接口
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public T reduce(T identity, JBinaryOperator<T> jBinaryOperator) throws Exception {
+        BinaryOperator<T> operator = context.binaryOperator(jBinaryOperator);
+        return context.call(stream, () -> stream.reduce(identity, operator));
+    }
+
+    /**
+     * 与Stream.collect()相同
+     *
+     * @param collector Collector
+     * @param <R>       泛型
+     * @param <A>       泛型
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public <R, A> R collect(Collector<? super T, A, R> collector) throws Exception {
+        return context.call(stream, () -> stream.collect(collector));
+    }
+
+    /**
+     * 收集到List中
+     *
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public List<T> toList() throws Exception {
+        return context.call(stream, () -> stream.collect(Collectors.toList()));
+    }
+
+    /**
+     * 与Stream.count()相同
+     *
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public long count() throws Exception {
+        return context.call(stream, stream::count);
+    }
+
+    /**
+     * 与Stream.anyMatch()相同，参数为JPredicate；抛出异常的元素视为不匹配
+     *
+     * @param jPredicate 自定义函数式接口
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public boolean anyMatch(JPredicate<? super T> jPredicate) throws Exception {
+        Predicate<T> predicate = context.predicate(jPredicate);
+        return context.call(stream, () -> stream.anyMatch(predicate));
+    }
+
+    /**
+     * 与Stream.allMatch()相同，参数为JPredicate；抛出异常的元素视为不匹配
+     *
+     * @param jPredicate 自定义函数式接口
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public boolean allMatch(JPredicate<? super T> jPredicate) throws Exception {
+        Predicate<T> predicate = context.predicate(jPredicate);
+        return context.call(stream, () -> stream.allMatch(predicate));
+    }
+
+    /**
+     * 与Stream.noneMatch()相同，参数为JPredicate；抛出异常的元素视为不匹配
+     *
+     * @param jPredicate 自定义函数式接口
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public boolean noneMatch(JPredicate<? super T> jPredicate) throws Exception {
+        Predicate<T> predicate = context.predicate(jPredicate);
+        return context.call(stream, () -> stream.noneMatch(predicate));
+    }
+
+    /**
+     * 与Stream.findFirst()相同
+     *
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public Optional<T> findFirst() throws Exception {
+        return context.call(stream, stream::findFirst);
+    }
+
+    /**
+     * 与Stream.findAny()相同
+     *
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public Optional<T> findAny() throws Exception {
+        return context.call(stream, stream::findAny);
+    }
+
+    /**
+     * 与Stream.min()相同
+     *
+     * @param comparator 比较器
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public Optional<T> min(Comparator<? super T> comparator) throws Exception {
+        return context.call(stream, () -> stream.min(comparator));
+    }
+
+    /**
+     * 与Stream.max()相同
+     *
+     * @param comparator 比较器
+     * @return 返回值
+     * @throws Exception FAIL_FAST时第一个原始异常
+     */
+    public Optional<T> max(Comparator<? super T> comparator) throws Exception {
+        return context.call(stream, () -> stream.max(comparator));
+    }
+
+    /**************************************** 其它 ****************************************/
+
+    /**
+     * COLLECT时终止操作结束后收集到的所有异常，并行时顺序不确定
+     *
+     * @return 返回值
+     */
+    public List<Throwable> errors() {
+        return context.errors();
+    }
+
+    /**
+     * 底层的Stream；FAIL_FAST时其中的受检异常不经包装直接抛出
+     *
+     * @return 返回值
+     */
+    public Stream<T> unwrap() {
+        return stream;
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    /****************************************************************************************************/
+
+    private <R> JStream<R> next(Stream<R> next) {
+        return new JStream<>(next, context);
+    }
+
+    /**
+     * 一条Stream及其派生的Stream共用的异常处理方式
+     */
+    private static final class Context {
+
+        final ErrorPolicy policy;
+
+        final Queue<Throwable> errors;
+
+        /**
+         * FAIL_FAST时抛出过的原始异常，用于识别ForkJoinTask重新创建的异常
+         */
+        final Queue<Throwable> thrown;
+
+        Context(ErrorPolicy policy) {
+            this.policy = Objects.requireNonNull(policy);
+            this.errors = policy == ErrorPolicy.COLLECT ? new ConcurrentLinkedQueue<>() : null;
+            this.thrown = policy == ErrorPolicy.FAIL_FAST ? new ConcurrentLinkedQueue<>() : null;
+        }
+
+        boolean dropsFailures() {
+            return policy == ErrorPolicy.SKIP || policy == ErrorPolicy.COLLECT;
+        }
+
+        /**
+         * FAIL_FAST时不经包装抛出原始异常，COLLECT时记录异常
+         */
+        void failed(Exception e) {
+            switch (policy) {
+                case FAIL_FAST:
+                    thrown.add(e);
+                    throw ExceptionUtils.sneakyThrow(e);
+                case COLLECT:
+                    errors.add(e);
+                    break;
+                default:
+            }
+        }
+
+        /**
+         * map失败时的结果：SKIP/COLLECT时为SKIPPED标记，SUBSTITUTE时为null
+         */
+        Object failedObj(Exception e) {
+            failed(e);
+            return dropsFailures() ? SKIPPED : null;
+        }
+
+        <T, R> Stream<R> mapObj(Stream<T> stream, java.util.function.Function<T, Object> function) {
+            return dropSkipped(stream.map(function));
+        }
+
+        /**
+         * SKIP/COLLECT时去掉SKIPPED标记
+         */
+        @SuppressWarnings("unchecked")
+        <R> Stream<R> dropSkipped(Stream<Object> mapped) {
+            return (Stream<R>) (dropsFailures() ? mapped.filter(NOT_SKIPPED) : mapped);
+        }
+
+        /**
+         * 执行终止操作，还原原始异常
+         */
+        <R> R call(BaseStream<?, ?> stream, Supplier<R> operation) throws Exception {
+            boolean parallel = stream.isParallel();
+            try {
+                return operation.get();
+            }
+            catch (Throwable e) {
+                throw ExceptionUtils.rethrow(original(e, parallel));
+            }
+        }
+
+        /**
+         * 并行Stream在其它线程中抛出的异常，ForkJoinTask会用同样的类型重新创建一个异常，原始异常作为cause；
+         * 只有cause是本Stream以FAIL_FAST抛出的异常时才还原，用户自己包装的同类型异常原样抛出
+         */
+        private Throwable original(Throwable throwable, boolean parallel) {
+            Throwable cause = throwable.getCause();
+            if (parallel && thrown != null && cause != null && cause.getClass() == throwable.getClass()
+                    && !isThrown(throwable) && isThrown(cause)) {
+                return cause;
+            }
+            return throwable;
+        }
+
+        private boolean isThrown(Throwable throwable) {
+            for (Throwable e : thrown) {
+                if (e == throwable) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        <T> Predicate<T> predicate(JPredicate<? super T> jPredicate) {
+            Objects.requireNonNull(jPredicate);
+            return t -> {
+                try {
+                    return jPredicate.test(t);
+                }
+                catch (Exception e) {
+                    failed(e);
+                    return false;
+                }
+            };
+        }
+
+        <T> Consumer<T> consumer(JConsumer<? super T> jConsumer) {
+            return t -> {
+                try {
+                    jConsumer.accept(t);
+                }
+                catch (Exception e) {
+                    failed(e);
+                }
+            };
+        }
+
+        <T> BinaryOperator<T> binaryOperator(JBinaryOperator<T> jBinaryOperator) {
+            Objects.requireNonNull(jBinaryOperator);
+            return (left, right) -> {
+                try {
+                    return jBinaryOperator.apply(left, right);
+                }
+                catch (Exception e) {
+                    failed(e);
+                    return left;
+                }
+            };
+        }
+
+        List<Throwable> errors() {
+            return errors == null ? new ArrayList<>() : new ArrayList<>(errors);
+        }
+    }
+
+    /**
+     * SKIP/COLLECT时的mapToInt：抛出异常的元素不产生值，原始类型的Stream中没有可用的标记值
+     */
+    private static final class ToIntSpliterator<T> implements Spliterator.OfInt, Consumer<T> {
+
+        private final Spliterator<T> source;
+
+        private final JToIntFunction<? super T> function;
+
+        private final Context context;
+
+        private int value;
+
+        private boolean produced;
+
+        ToIntSpliterator(Spliterator<T> source, JToIntFunction<? super T> function, Context context) {
+            this.source = source;
+            this.function = function;
+            this.context = context;
+        }
+
+        @Override
+        public void accept(T t) {
+            try {
+                value = function.applyAsInt(t);
+                produced = true;
+            }
+            catch (Exception e) {
+                context.failed(e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            produced = false;
+            while (source.tryAdvance(this)) {
+                if (produced) {
+                    action.accept(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            Spliterator<T> split = source.trySplit();
+            return split == null ? null : new ToIntSpliterator<>(split, function, context);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(SIZED | SUBSIZED | SORTED | DISTINCT | NONNULL);
+        }
+    }
+
+    /**
+     * SKIP/COLLECT时的mapToLong
+     */
+    private static final class ToLongSpliterator<T> implements Spliterator.OfLong, Consumer<T> {
+
+        private final Spliterator<T> source;
+
+        private final JToLongFunction<? super T> function;
+
+        private final Context context;
+
+        private long value;
+
+        private boolean produced;
+
+        ToLongSpliterator(Spliterator<T> source, JToLongFunction<? super T> function, Context context) {
+            this.source = source;
+            this.function = function;
+            this.context = context;
+        }
+
+        @Override
+        public void accept(T t) {
+            try {
+                value = function.applyAsLong(t);
+                produced = true;
+            }
+            catch (Exception e) {
+                context.failed(e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            produced = false;
+            while (source.tryAdvance(this)) {
+                if (produced) {
+                    action.accept(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            Spliterator<T> split = source.trySplit();
+            return split == null ? null : new ToLongSpliterator<>(split, function, context);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(SIZED | SUBSIZED | SORTED | DISTINCT | NONNULL);
+        }
+    }
+
+    /**
+     * SKIP/COLLECT时的mapToDouble
+     */
+    private static final class ToDoubleSpliterator<T> implements Spliterator.OfDouble, Consumer<T> {
+
+        private final Spliterator<T> source;
+
+        private final JToDoubleFunction<? super T> function;
+
+        private final Context context;
+
+        private double value;
+
+        private boolean produced;
+
+        ToDoubleSpliterator(Spliterator<T> source, JToDoubleFunction<? super T> function, Context context) {
+            this.source = source;
+            this.function = function;
+            this.context = context;
+        }
+
+        @Override
+        public void accept(T t) {
+            try {
+                value = function.applyAsDouble(t);
+                produced = true;
+            }
+            catch (Exception e) {
+                context.failed(e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            produced = false;
+            while (source.tryAdvance(this)) {
+                if (produced) {
+                    action.accept(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            Spliterator<T> split = source.trySplit();
+            return split == null ? null : new ToDoubleSpliterator<>(split, function, context);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(SIZED | SUBSIZED | SORTED | DISTINCT | NONNULL);
+        }
+    }
+
+    /**
+     * SKIP/COLLECT时的IntStream.map()：抛出异常的元素不产生值
+     */
+    private static final class IntMapSpliterator implements Spliterator.OfInt, IntConsumer {
+
+        private final Spliterator.OfInt source;
+
+        private final JIntUnaryOperator operator;
+
+        private final Context context;
+
+        private int value;
+
+        private boolean produced;
+
+        IntMapSpliterator(Spliterator.OfInt source, JIntUnaryOperator operator, Context context) {
+            this.source = source;
+            this.operator = operator;
+            this.context = context;
+        }
+
+        @Override
+        public void accept(int operand) {
+            try {
+                value = operator.applyAsInt(operand);
+                produced = true;
+            }
+            catch (Exception e) {
+                context.failed(e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            produced = false;
+            while (source.tryAdvance(this)) {
+                if (produced) {
+                    action.accept(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            Spliterator.OfInt split = source.trySplit();
+            return split == null ? null : new IntMapSpliterator(split, operator, context);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(SIZED | SUBSIZED | SORTED | DISTINCT);
+        }
+    }
+
+    /**
+     * SKIP/COLLECT时的LongStream.map()：抛出异常的元素不产生值
+     */
+    private static final class LongMapSpliterator implements Spliterator.OfLong, LongConsumer {
+
+        private final Spliterator.OfLong source;
+
+        private final JLongUnaryOperator operator;
+
+        private final Context context;
+
+        private long value;
+
+        private boolean produced;
+
+        LongMapSpliterator(Spliterator.OfLong source, JLongUnaryOperator operator, Context context) {
+            this.source = source;
+            this.operator = operator;
+            this.context = context;
+        }
+
+        @Override
+        public void accept(long operand) {
+            try {
+                value = operator.applyAsLong(operand);
+                produced = true;
+            }
+            catch (Exception e) {
+                context.failed(e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            produced = false;
+            while (source.tryAdvance(this)) {
+                if (produced) {
+                    action.accept(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            Spliterator.OfLong split = source.trySplit();
+            return split == null ? null : new LongMapSpliterator(split, operator, context);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(SIZED | SUBSIZED | SORTED | DISTINCT);
+        }
+    }
+
+    /**
+     * SKIP/COLLECT时的DoubleStream.map()：抛出异常的元素不产生值
+     */
+    private static final class DoubleMapSpliterator implements Spliterator.OfDouble, DoubleConsumer {
+
+        private final Spliterator.OfDouble source;
+
+        private final JDoubleUnaryOperator operator;
+
+        private final Context context;
+
+        private double value;
+
+        private boolean produced;
+
+        DoubleMapSpliterator(Spliterator.OfDouble source, JDoubleUnaryOperator operator, Context context) {
+            this.source = source;
+            this.operator = operator;
+            this.context = context;
+        }
+
+        @Override
+        public void accept(double operand) {
+            try {
+                value = operator.applyAsDouble(operand);
+                produced = true;
+            }
+            catch (Exception e) {
+                context.failed(e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            produced = false;
+            while (source.tryAdvance(this)) {
+                if (produced) {
+                    action.accept(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            Spliterator.OfDouble split = source.trySplit();
+            return split == null ? null : new DoubleMapSpliterator(split, operator, context);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(SIZED | SUBSIZED | SORTED | DISTINCT);
+        }
+    }
+
+    /**
+     * int版本的JStream
+     */
+    public static final class OfInt {
+
+        private final IntStream stream;
+
+        private final Context context;
+
+        private OfInt(IntStream stream, Context context) {
+            this.stream = stream;
+            this.context = context;
+        }
+
+        /**
+         * 与IntStream.mapToObj()相同，参数为JIntFunction；元素不装箱
+         *
+         * @param jIntFunction 自定义函数式接口
+         * @param <R>          泛型
+         * @return 返回值
+         */
+        public <R> JStream<R> mapToObj(JIntFunction<? extends R> jIntFunction) {
+            Objects.requireNonNull(jIntFunction);
+            Context context = this.context;
+            return new JStream<>(context.dropSkipped(stream.mapToObj(value -> {
+                try {
+                    return jIntFunction.apply(value);
+                }
+                catch (Exception e) {
+                    return context.failedObj(e);
+                }
+            })), context);
+        }
+
+        /**
+         * 与IntStream.filter()相同，参数为JIntPredicate；抛出异常的元素不保留
+         *
+         * @param jIntPredicate 自定义函数式接口
+         * @return 返回值
+         */
+        public OfInt filter(JIntPredicate jIntPredicate) {
+            Objects.requireNonNull(jIntPredicate);
+            Context context = this.context;
+            return new OfInt(stream.filter(value -> {
+                try {
+                    return jIntPredicate.test(value);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                    return false;
+                }
+            }), context);
+        }
+
+        /**
+         * 与IntStream.map()相同，参数为JIntUnaryOperator
+         *
+         * @param jIntUnaryOperator 自定义函数式接口
+         * @return 返回值
+         */
+        public OfInt map(JIntUnaryOperator jIntUnaryOperator) {
+            Objects.requireNonNull(jIntUnaryOperator);
+            Context context = this.context;
+            if (context.dropsFailures()) {
+                return new OfInt(StreamSupport.intStream(new IntMapSpliterator(stream.spliterator(), jIntUnaryOperator, context),
+                        stream.isParallel()).onClose(stream::close), context);
+            }
+            return new OfInt(stream.map(value -> {
+                try {
+                    return jIntUnaryOperator.applyAsInt(value);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                    return -1;
+                }
+            }), context);
+        }
+
+        /**
+         * 与IntStream.parallel()相同
+         *
+         * @return 返回值
+         */
+        public OfInt parallel() {
+            return new OfInt(stream.parallel(), context);
+        }
+
+        /**
+         * 与IntStream.sequential()相同
+         *
+         * @return 返回值
+         */
+        public OfInt sequential() {
+            return new OfInt(stream.sequential(), context);
+        }
+
+        /**
+         * 与IntStream.boxed()相同
+         *
+         * @return 返回值
+         */
+        public JStream<Integer> boxed() {
+            return new JStream<>(stream.boxed(), context);
+        }
+
+        /**
+         * 与IntStream.forEach()相同，参数为JIntConsumer
+         *
+         * @param jIntConsumer 自定义函数式接口
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public void forEach(JIntConsumer jIntConsumer) throws Exception {
+            Objects.requireNonNull(jIntConsumer);
+            Context context = this.context;
+            IntConsumer consumer = value -> {
+                try {
+                    jIntConsumer.accept(value);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                }
+            };
+            context.call(stream, () -> {
+                stream.forEach(consumer);
+                return null;
+            });
+        }
+
+        /**
+         * 与IntStream.reduce(IntBinaryOperator)相同，参数为JIntBinaryOperator；合并时抛出异常，非FAIL_FAST时保留左边的值
+         *
+         * @param jIntBinaryOperator 自定义函数式接口
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalInt reduce(JIntBinaryOperator jIntBinaryOperator) throws Exception {
+            IntBinaryOperator operator = binaryOperator(jIntBinaryOperator);
+            return context.call(stream, () -> stream.reduce(operator));
+        }
+
+        /**
+         * 与IntStream.reduce(int, IntBinaryOperator)相同，参数为JIntBinaryOperator；合并时抛出异常，非FAIL_FAST时保留左边的值
+         *
+         * @param identity           初始值
+         * @param jIntBinaryOperator 自定义函数式接口
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public int reduce(int identity, JIntBinaryOperator jIntBinaryOperator) throws Exception {
+            IntBinaryOperator operator = binaryOperator(jIntBinaryOperator);
+            return context.call(stream, () -> stream.reduce(identity, operator));
+        }
+
+        /**
+         * 与IntStream.sum()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public int sum() throws Exception {
+            return context.call(stream, stream::sum);
+        }
+
+        /**
+         * 与IntStream.count()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public long count() throws Exception {
+            return context.call(stream, stream::count);
+        }
+
+        /**
+         * 与IntStream.min()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalInt min() throws Exception {
+            return context.call(stream, stream::min);
+        }
+
+        /**
+         * 与IntStream.max()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalInt max() throws Exception {
+            return context.call(stream, stream::max);
+        }
+
+        /**
+         * 与IntStream.average()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalDouble average() throws Exception {
+            return context.call(stream, stream::average);
+        }
+
+        /**
+         * 与IntStream.summaryStatistics()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public IntSummaryStatistics summaryStatistics() throws Exception {
+            return context.call(stream, stream::summaryStatistics);
+        }
+
+        /**
+         * 与IntStream.toArray()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public int[] toArray() throws Exception {
+            return context.call(stream, stream::toArray);
+        }
+
+        /**
+         * COLLECT时终止操作结束后收集到的所有异常
+         *
+         * @return 返回值
+         */
+        public List<Throwable> errors() {
+            return context.errors();
+        }
+
+        /**
+         * 底层的IntStream
+         *
+         * @return 返回值
+         */
+        public IntStream unwrap() {
+            return stream;
+        }
+
+        private IntBinaryOperator binaryOperator(JIntBinaryOperator jIntBinaryOperator) {
+            Objects.requireNonNull(jIntBinaryOperator);
+            Context context = this.context;
+            return (left, right) -> {
+                try {
+                    return jIntBinaryOperator.applyAsInt(left, right);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                    return left;
+                }
+            };
+        }
+    }
+
+    /**
+     * long版本的JStream
+     */
+    public static final class OfLong {
+
+        private final LongStream stream;
+
+        private final Context context;
+
+        private OfLong(LongStream stream, Context context) {
+            this.stream = stream;
+            this.context = context;
+        }
+
+        /**
+         * 与LongStream.mapToObj()相同，参数为JLongFunction；元素不装箱
+         *
+         * @param jLongFunction 自定义函数式接口
+         * @param <R>           泛型
+         * @return 返回值
+         */
+        public <R> JStream<R> mapToObj(JLongFunction<? extends R> jLongFunction) {
+            Objects.requireNonNull(jLongFunction);
+            Context context = this.context;
+            return new JStream<>(context.dropSkipped(stream.mapToObj(value -> {
+                try {
+                    return jLongFunction.apply(value);
+                }
+                catch (Exception e) {
+                    return context.failedObj(e);
+                }
+            })), context);
+        }
+
+        /**
+         * 与LongStream.filter()相同，参数为JLongPredicate；抛出异常的元素不保留
+         *
+         * @param jLongPredicate 自定义函数式接口
+         * @return 返回值
+         */
+        public OfLong filter(JLongPredicate jLongPredicate) {
+            Objects.requireNonNull(jLongPredicate);
+            Context context = this.context;
+            return new OfLong(stream.filter(value -> {
+                try {
+                    return jLongPredicate.test(value);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                    return false;
+                }
+            }), context);
+        }
+
+        /**
+         * 与LongStream.map()相同，参数为JLongUnaryOperator
+         *
+         * @param jLongUnaryOperator 自定义函数式接口
+         * @return 返回值
+         */
+        public OfLong map(JLongUnaryOperator jLongUnaryOperator) {
+            Objects.requireNonNull(jLongUnaryOperator);
+            Context context = this.context;
+            if (context.dropsFailures()) {
+                return new OfLong(StreamSupport.longStream(new LongMapSpliterator(stream.spliterator(), jLongUnaryOperator, context),
+                        stream.isParallel()).onClose(stream::close), context);
+            }
+            return new OfLong(stream.map(value -> {
+                try {
+                    return jLongUnaryOperator.applyAsLong(value);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                    return -1L;
+                }
+            }), context);
+        }
+
+        /**
+         * 与LongStream.parallel()相同
+         *
+         * @return 返回值
+         */
+        public OfLong parallel() {
+            return new OfLong(stream.parallel(), context);
+        }
+
+        /**
+         * 与LongStream.sequential()相同
+         *
+         * @return 返回值
+         */
+        public OfLong sequential() {
+            return new OfLong(stream.sequential(), context);
+        }
+
+        /**
+         * 与LongStream.boxed()相同
+         *
+         * @return 返回值
+         */
+        public JStream<Long> boxed() {
+            return new JStream<>(stream.boxed(), context);
+        }
+
+        /**
+         * 与LongStream.forEach()相同，参数为JLongConsumer
+         *
+         * @param jLongConsumer 自定义函数式接口
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public void forEach(JLongConsumer jLongConsumer) throws Exception {
+            Objects.requireNonNull(jLongConsumer);
+            Context context = this.context;
+            LongConsumer consumer = value -> {
+                try {
+                    jLongConsumer.accept(value);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                }
+            };
+            context.call(stream, () -> {
+                stream.forEach(consumer);
+                return null;
+            });
+        }
+
+        /**
+         * 与LongStream.reduce(LongBinaryOperator)相同，参数为JLongBinaryOperator；合并时抛出异常，非FAIL_FAST时保留左边的值
+         *
+         * @param jLongBinaryOperator 自定义函数式接口
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalLong reduce(JLongBinaryOperator jLongBinaryOperator) throws Exception {
+            LongBinaryOperator operator = binaryOperator(jLongBinaryOperator);
+            return context.call(stream, () -> stream.reduce(operator));
+        }
+
+        /**
+         * 与LongStream.reduce(long, LongBinaryOperator)相同，参数为JLongBinaryOperator；合并时抛出异常，非FAIL_FAST时保留左边的值
+         *
+         * @param identity            初始值
+         * @param jLongBinaryOperator 自定义函数式接口
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public long reduce(long identity, JLongBinaryOperator jLongBinaryOperator) throws Exception {
+            LongBinaryOperator operator = binaryOperator(jLongBinaryOperator);
+            return context.call(stream, () -> stream.reduce(identity, operator));
+        }
+
+        /**
+         * 与LongStream.sum()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public long sum() throws Exception {
+            return context.call(stream, stream::sum);
+        }
+
+        /**
+         * 与LongStream.count()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public long count() throws Exception {
+            return context.call(stream, stream::count);
+        }
+
+        /**
+         * 与LongStream.min()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalLong min() throws Exception {
+            return context.call(stream, stream::min);
+        }
+
+        /**
+         * 与LongStream.max()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalLong max() throws Exception {
+            return context.call(stream, stream::max);
+        }
+
+        /**
+         * 与LongStream.average()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalDouble average() throws Exception {
+            return context.call(stream, stream::average);
+        }
+
+        /**
+         * 与LongStream.summaryStatistics()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public LongSummaryStatistics summaryStatistics() throws Exception {
+            return context.call(stream, stream::summaryStatistics);
+        }
+
+        /**
+         * 与LongStream.toArray()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public long[] toArray() throws Exception {
+            return context.call(stream, stream::toArray);
+        }
+
+        /**
+         * COLLECT时终止操作结束后收集到的所有异常
+         *
+         * @return 返回值
+         */
+        public List<Throwable> errors() {
+            return context.errors();
+        }
+
+        /**
+         * 底层的LongStream
+         *
+         * @return 返回值
+         */
+        public LongStream unwrap() {
+            return stream;
+        }
+
+        private LongBinaryOperator binaryOperator(JLongBinaryOperator jLongBinaryOperator) {
+            Objects.requireNonNull(jLongBinaryOperator);
+            Context context = this.context;
+            return (left, right) -> {
+                try {
+                    return jLongBinaryOperator.applyAsLong(left, right);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                    return left;
+                }
+            };
+        }
+    }
+
+    /**
+     * double版本的JStream
+     */
+    public static final class OfDouble {
+
+        private final DoubleStream stream;
+
+        private final Context context;
+
+        private OfDouble(DoubleStream stream, Context context) {
+            this.stream = stream;
+            this.context = context;
+        }
+
+        /**
+         * 与DoubleStream.mapToObj()相同，参数为JDoubleFunction；元素不装箱
+         *
+         * @param jDoubleFunction 自定义函数式接口
+         * @param <R>             泛型
+         * @return 返回值
+         */
+        public <R> JStream<R> mapToObj(JDoubleFunction<? extends R> jDoubleFunction) {
+            Objects.requireNonNull(jDoubleFunction);
+            Context context = this.context;
+            return new JStream<>(context.dropSkipped(stream.mapToObj(value -> {
+                try {
+                    return jDoubleFunction.apply(value);
+                }
+                catch (Exception e) {
+                    return context.failedObj(e);
+                }
+            })), context);
+        }
+
+        /**
+         * 与DoubleStream.filter()相同，参数为JDoublePredicate；抛出异常的元素不保留
+         *
+         * @param jDoublePredicate 自定义函数式接口
+         * @return 返回值
+         */
+        public OfDouble filter(JDoublePredicate jDoublePredicate) {
+            Objects.requireNonNull(jDoublePredicate);
+            Context context = this.context;
+            return new OfDouble(stream.filter(value -> {
+                try {
+                    return jDoublePredicate.test(value);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                    return false;
+                }
+            }), context);
+        }
+
+        /**
+         * 与DoubleStream.map()相同，参数为JDoubleUnaryOperator
+         *
+         * @param jDoubleUnaryOperator 自定义函数式接口
+         * @return 返回值
+         */
+        public OfDouble map(JDoubleUnaryOperator jDoubleUnaryOperator) {
+            Objects.requireNonNull(jDoubleUnaryOperator);
+            Context context = this.context;
+            if (context.dropsFailures()) {
+                return new OfDouble(StreamSupport.doubleStream(new DoubleMapSpliterator(stream.spliterator(), jDoubleUnaryOperator, context),
+                        stream.isParallel()).onClose(stream::close), context);
+            }
+            return new OfDouble(stream.map(value -> {
+                try {
+                    return jDoubleUnaryOperator.applyAsDouble(value);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                    return -1D;
+                }
+            }), context);
+        }
+
+        /**
+         * 与DoubleStream.parallel()相同
+         *
+         * @return 返回值
+         */
+        public OfDouble parallel() {
+            return new OfDouble(stream.parallel(), context);
+        }
+
+        /**
+         * 与DoubleStream.sequential()相同
+         *
+         * @return 返回值
+         */
+        public OfDouble sequential() {
+            return new OfDouble(stream.sequential(), context);
+        }
+
+        /**
+         * 与DoubleStream.boxed()相同
+         *
+         * @return 返回值
+         */
+        public JStream<Double> boxed() {
+            return new JStream<>(stream.boxed(), context);
+        }
+
+        /**
+         * 与DoubleStream.forEach()相同，参数为JDoubleConsumer
+         *
+         * @param jDoubleConsumer 自定义函数式接口
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public void forEach(JDoubleConsumer jDoubleConsumer) throws Exception {
+            Objects.requireNonNull(jDoubleConsumer);
+            Context context = this.context;
+            DoubleConsumer consumer = value -> {
+                try {
+                    jDoubleConsumer.accept(value);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                }
+            };
+            context.call(stream, () -> {
+                stream.forEach(consumer);
+                return null;
+            });
+        }
+
+        /**
+         * 与DoubleStream.reduce(DoubleBinaryOperator)相同，参数为JDoubleBinaryOperator；合并时抛出异常，非FAIL_FAST时保留左边的值
+         *
+         * @param jDoubleBinaryOperator 自定义函数式接口
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalDouble reduce(JDoubleBinaryOperator jDoubleBinaryOperator) throws Exception {
+            DoubleBinaryOperator operator = binaryOperator(jDoubleBinaryOperator);
+            return context.call(stream, () -> stream.reduce(operator));
+        }
+
+        /**
+         * 与DoubleStream.reduce(double, DoubleBinaryOperator)相同，参数为JDoubleBinaryOperator；合并时抛出异常，非FAIL_FAST时保留左边的值
+         *
+         * @param identity              初始值
+         * @param jDoubleBinaryOperator 自定义函数式接口
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public double reduce(double identity, JDoubleBinaryOperator jDoubleBinaryOperator) throws Exception {
+            DoubleBinaryOperator operator = binaryOperator(jDoubleBinaryOperator);
+            return context.call(stream, () -> stream.reduce(identity, operator));
+        }
+
+        /**
+         * 与DoubleStream.sum()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public double sum() throws Exception {
+            return context.call(stream, stream::sum);
+        }
+
+        /**
+         * 与DoubleStream.count()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public long count() throws Exception {
+            return context.call(stream, stream::count);
+        }
+
+        /**
+         * 与DoubleStream.min()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalDouble min() throws Exception {
+            return context.call(stream, stream::min);
+        }
+
+        /**
+         * 与DoubleStream.max()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalDouble max() throws Exception {
+            return context.call(stream, stream::max);
+        }
+
+        /**
+         * 与DoubleStream.average()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public OptionalDouble average() throws Exception {
+            return context.call(stream, stream::average);
+        }
+
+        /**
+         * 与DoubleStream.summaryStatistics()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public DoubleSummaryStatistics summaryStatistics() throws Exception {
+            return context.call(stream, stream::summaryStatistics);
+        }
+
+        /**
+         * 与DoubleStream.toArray()相同
+         *
+         * @return 返回值
+         * @throws Exception FAIL_FAST时第一个原始异常
+         */
+        public double[] toArray() throws Exception {
+            return context.call(stream, stream::toArray);
+        }
+
+        /**
+         * COLLECT时终止操作结束后收集到的所有异常
+         *
+         * @return 返回值
+         */
+        public List<Throwable> errors() {
+            return context.errors();
+        }
+
+        /**
+         * 底层的DoubleStream
+         *
+         * @return 返回值
+         */
+        public DoubleStream unwrap() {
+            return stream;
+        }
+
+        private DoubleBinaryOperator binaryOperator(JDoubleBinaryOperator jDoubleBinaryOperator) {
+            Objects.requireNonNull(jDoubleBinaryOperator);
+            Context context = this.context;
+            return (left, right) -> {
+                try {
+                    return jDoubleBinaryOperator.applyAsDouble(left, right);
+                }
+                catch (Exception e) {
+                    context.failed(e);
+                    return left;
+                }
+            };
+        }
+    }
+}
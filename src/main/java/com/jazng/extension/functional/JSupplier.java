@@ -1,5 +1,7 @@
 package com.jazng.extension.functional;
 
+import java.time.Duration;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 /**
@@ -20,6 +22,35 @@ public interface JSupplier<T> {
      */
     T get() throws Exception;
 
+    /**
+     * 对JSupplier进行缓存，只在第一次调用时加载，加载失败不缓存，下次调用重新加载
+     *
+     * @param jSupplier 自定义函数式接口
+     * @param <T>       泛型
+     * @return 返回值
+     */
+    static <T> RefreshAheadSupplier<T> memoize(JSupplier<T> jSupplier) {
+        return new RefreshAheadSupplier<>(jSupplier, Long.MAX_VALUE, Long.MAX_VALUE, 0, Runnable::run);
+    }
+
+    /**
+     * 对JSupplier进行缓存，缓存值在ttl内有效，在过期前refreshAhead时长开始在executor中异步刷新，
+     * 刷新期间调用方继续拿到当前值；刷新失败时保留上一次成功的值，最多在过期后再使用maxStale时长
+     *
+     * @param jSupplier    自定义函数式接口
+     * @param ttl          有效期
+     * @param refreshAhead 提前刷新的时长，不能大于ttl
+     * @param maxStale     刷新失败时过期值的最大容忍时长
+     * @param executor     异步刷新使用的线程池
+     * @param <T>          泛型
+     * @return 返回值
+     */
+    static <T> RefreshAheadSupplier<T> refreshAhead(JSupplier<T> jSupplier, Duration ttl, Duration refreshAhead,
+                                                    Duration maxStale, Executor executor) {
+        long ttlNanos = ttl.toNanos();
+        return new RefreshAheadSupplier<>(jSupplier, ttlNanos, ttlNanos - refreshAhead.toNanos(), maxStale.toNanos(), executor);
+    }
+
     /****************************************************************************************************/
 
     /**
@@ -21,6 +21,29 @@ public interface JToLongFunction<T> {
      */
     long applyAsLong(T value) throws Exception;
 
+    /**
+     * 对JToLongFunction进行缓存，结果不装箱，缓存数量不设上限
+     *
+     * @param jToLongFunction 自定义函数式接口
+     * @param <T>             泛型
+     * @return 返回值
+     */
+    static <T> ToLongMemoFunction<T> memoize(JToLongFunction<T> jToLongFunction) {
+        return new ToLongMemoFunction<>(jToLongFunction, 0);
+    }
+
+    /**
+     * 对JToLongFunction进行缓存，结果不装箱，表按需增长；key按hash分到16个分段，每段最多缓存maxEntries/16个结果，某段写满时整段清空后重新填充（不做逐条淘汰）
+     *
+     * @param jToLongFunction 自定义函数式接口
+     * @param maxEntries      最大缓存数量
+     * @param <T>             泛型
+     * @return 返回值
+     */
+    static <T> ToLongMemoFunction<T> memoizeBounded(JToLongFunction<T> jToLongFunction, int maxEntries) {
+        return new ToLongMemoFunction<>(jToLongFunction, maxEntries);
+    }
+
     /****************************************************************************************************/
 
     /**
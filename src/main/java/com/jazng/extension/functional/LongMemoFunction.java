@@ -0,0 +1,247 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * @author JJ_yo
+ * 以long为key的缓存JLongFunction
+ * key不装箱，使用开放寻址表分段存储，读取走StampedLock的乐观读，线程安全；
+ * 支持无界、有界（key按hash分到16个分段，每段上限为maxEntries/16，某段写满时该段整段清空后重新填充，不做逐条淘汰）和稠密区间（key落在[from, to)时直接用数组下标）三种模式。
+ * 同一个key并发首次调用时函数可能执行多次，但最终只缓存一个结果；抛出异常的调用不缓存
+ * 2026-10-19 11:20
+ * @version: 1.0
+ */
+public final class LongMemoFunction<R> implements JLongFunction<R> {
+
+    private static final Object NULL = new Object();
+
+    private static final int SEGMENT_BITS = 4;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final JLongFunction<R> jLongFunction;
+
+    private final long denseFrom;
+
+    private final AtomicReferenceArray<Object> dense;
+
+    private final Segment[] segments;
+
+    LongMemoFunction(JLongFunction<R> jLongFunction, int maxEntries, long denseFrom, long denseTo) {
+        this.jLongFunction = Objects.requireNonNull(jLongFunction);
+        if (maxEntries < 0 || denseTo < denseFrom) {
+            throw new IllegalArgumentException("maxEntries不能小于0，且区间[from, to)不能为负");
+        }
+        this.denseFrom = denseFrom;
+        long denseSize = denseTo - denseFrom;
+        if (denseSize < 0 || denseSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("稠密区间过大：" + denseSize);
+        }
+        this.dense = denseSize > 0 ? new AtomicReferenceArray<>((int) denseSize) : null;
+        int perSegment = maxEntries == 0 ? 0 : (int) Math.max(1, ((long) maxEntries + (1 << SEGMENT_BITS) - 1) >>> SEGMENT_BITS);
+        this.segments = new Segment[1 << SEGMENT_BITS];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R apply(long value) throws Exception {
+        if (dense != null) {
+            long index = value - denseFrom;
+            if (index >= 0 && index < dense.length()) {
+                Object cached = dense.get((int) index);
+                if (cached == null) {
+                    cached = mask(jLongFunction.apply(value));
+                    if (!dense.compareAndSet((int) index, null, cached)) {
+                        cached = dense.get((int) index);
+                    }
+                }
+                return cached == NULL ? null : (R) cached;
+            }
+        }
+        int hash = hash(value);
+        Segment segment = segments[hash >>> (32 - SEGMENT_BITS)];
+        Object cached = segment.get(value, hash);
+        if (cached == null) {
+            cached = segment.putIfAbsent(value, hash, mask(jLongFunction.apply(value)));
+        }
+        return cached == NULL ? null : (R) cached;
+    }
+
+    /**
+     * 当前缓存的结果数量
+     *
+     * @return 返回值
+     */
+    public int size() {
+        int size = 0;
+        if (dense != null) {
+            for (int i = 0; i < dense.length(); i++) {
+                if (dense.get(i) != null) {
+                    size++;
+                }
+            }
+        }
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        if (dense != null) {
+            for (int i = 0; i < dense.length(); i++) {
+                dense.set(i, null);
+            }
+        }
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private static Object mask(Object value) {
+        return value == null ? NULL : value;
+    }
+
+    private static int hash(long key) {
+        long x = key * 0x9E3779B97F4A7C15L;
+        int h = (int) (x ^ (x >>> 32));
+        return h ^ (h >>> 16);
+    }
+
+
+    /**
+     * 一段开放寻址表，写操作加写锁，读操作先乐观读，校验失败再加读锁
+     */
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+
+        private final int maxSize;
+
+        private Table table;
+
+        private int size;
+
+        Segment(int maxSize) {
+            this.maxSize = maxSize;
+            this.table = new Table(INITIAL_CAPACITY);
+        }
+
+        Object get(long key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            Object value = table.find(key, hash);
+            if (lock.validate(stamp)) {
+                return value;
+            }
+            stamp = lock.readLock();
+            try {
+                return table.find(key, hash);
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        Object putIfAbsent(long key, int hash, Object value) {
+            long stamp = lock.writeLock();
+            try {
+                Object existing = table.find(key, hash);
+                if (existing != null) {
+                    return existing;
+                }
+                if (maxSize > 0 && size >= maxSize) {
+                    // 分段写满后整段丢弃，不做逐条淘汰
+                    table = new Table(INITIAL_CAPACITY);
+                    size = 0;
+                }
+                else if ((long) (size + 1) * 2 > table.keys.length) {
+                    table = table.resize();
+                }
+                table.insert(key, hash, value);
+                size++;
+                return value;
+            }
+            finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(INITIAL_CAPACITY);
+                size = 0;
+            }
+            finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    private static final class Table {
+
+        final long[] keys;
+
+        /**
+         * 为null表示空槽
+         */
+        final Object[] values;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+
+        Object find(long key, int hash) {
+            int mask = keys.length - 1;
+            for (int i = hash & mask, n = 0; n <= mask; i = (i + 1) & mask, n++) {
+                Object value = values[i];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[i] == key) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        void insert(long key, int hash, Object value) {
+            int mask = keys.length - 1;
+            int i = hash & mask;
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        Table resize() {
+            Table bigger = new Table(keys.length << 1);
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] != null) {
+                    bigger.insert(keys[i], hash(keys[i]), values[i]);
+                }
+            }
+            return bigger;
+        }
+    }
+}
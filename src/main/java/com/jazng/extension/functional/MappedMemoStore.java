@@ -0,0 +1,637 @@
+package com.jazng.extension.functional;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * @author JJ_yo
+ * 基于内存映射文件的持久化缓存
+ * 用于缓存耗时且长期有效的JFunction结果：结果保存在映射文件中（堆外），进程重启后仍然有效，
+ * 同一台机器上的其它进程可以以只读方式共享。
+ * 文件为追加写：记录写完后才更新文件头中的提交位置，每条记录带CRC32校验，打开文件时丢弃未提交或损坏的尾部记录；
+ * 同一个key重复写入时以最后一次为准，可通过compact()回收旧记录占用的空间。
+ * 同一时刻只允许一个进程以写模式打开，单个文件最大2GB
+ * 2026-10-19 13:20
+ * @version: 1.0
+ */
+public final class MappedMemoStore<K, V> implements Closeable {
+
+    private static final int MAGIC = 0x4A464D53;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 64;
+
+    /**
+     * 文件头中已提交数据结束位置（long）的偏移
+     */
+    private static final int COMMITTED_OFFSET = 8;
+
+    /**
+     * 文件头中标志位（int）的偏移
+     */
+    private static final int FLAGS_OFFSET = 16;
+
+    /**
+     * 文件已被compact()生成的新文件替换，只读方需要重新打开
+     */
+    private static final int FLAG_REPLACED = 1;
+
+    /**
+     * 记录头：key长度、value长度、CRC32
+     */
+    private static final int RECORD_HEADER = 12;
+
+    private static final int NULL_VALUE = -1;
+
+    private static final long INITIAL_SIZE = 1 << 20;
+
+    private static final long MAX_SIZE = Integer.MAX_VALUE;
+
+    private static final ByteBuffer NULL_SLICE = ByteBuffer.allocate(0);
+
+    private final Path path;
+
+    private final Codec<K> keyCodec;
+
+    private final Codec<V> valueCodec;
+
+    private final boolean readOnly;
+
+    private final boolean forceOnWrite;
+
+    /**
+     * 保护写入、扩容、刷新和关闭；持锁期间会做文件I/O，使用ReentrantLock而不是synchronized，避免虚拟线程pinning
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile State state;
+
+    private volatile boolean closed;
+
+    /**
+     * 写模式下为已提交数据的结束位置，只读模式下为已扫描到的位置
+     */
+    private long end;
+
+    private long deadBytes;
+
+    private MappedMemoStore(Path path, Codec<K> keyCodec, Codec<V> valueCodec, boolean readOnly, boolean forceOnWrite) {
+        this.path = Objects.requireNonNull(path);
+        this.keyCodec = Objects.requireNonNull(keyCodec);
+        this.valueCodec = Objects.requireNonNull(valueCodec);
+        this.readOnly = readOnly;
+        this.forceOnWrite = forceOnWrite;
+    }
+
+    /**
+     * 以写模式打开（不存在则创建）
+     *
+     * @param path       文件路径
+     * @param keyCodec   key编解码器
+     * @param valueCodec value编解码器
+     * @param <K>        泛型
+     * @param <V>        泛型
+     * @return 返回值
+     * @throws IOException 文件无法打开，或已被其它进程以写模式打开
+     */
+    public static <K, V> MappedMemoStore<K, V> open(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        return open(path, keyCodec, valueCodec, false);
+    }
+
+    /**
+     * 以写模式打开（不存在则创建）
+     *
+     * @param path         文件路径
+     * @param keyCodec     key编解码器
+     * @param valueCodec   value编解码器
+     * @param forceOnWrite 为true时每次写入都刷盘，机器掉电也不丢数据，但写入明显变慢；为false时只保证进程崩溃不丢数据
+     * @param <K>          泛型
+     * @param <V>          泛型
+     * @return 返回值
+     * @throws IOException 文件无法打开，或已被其它进程以写模式打开
+     */
+    public static <K, V> MappedMemoStore<K, V> open(Path path, Codec<K> keyCodec, Codec<V> valueCodec,
+                                                   boolean forceOnWrite) throws IOException {
+        MappedMemoStore<K, V> store = new MappedMemoStore<>(path, keyCodec, valueCodec, false, forceOnWrite);
+        store.state = store.openWritable(path);
+        return store;
+    }
+
+    /**
+     * 以只读模式打开，可与写模式的进程同时使用，未命中时会读取写方新提交的记录
+     *
+     * @param path       文件路径
+     * @param keyCodec   key编解码器
+     * @param valueCodec value编解码器
+     * @param <K>        泛型
+     * @param <V>        泛型
+     * @return 返回值
+     * @throws IOException 文件无法打开或格式不正确
+     */
+    public static <K, V> MappedMemoStore<K, V> openReadOnly(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        MappedMemoStore<K, V> store = new MappedMemoStore<>(path, keyCodec, valueCodec, true, false);
+        store.state = store.openReadable();
+        return store;
+    }
+
+    /**
+     * 获取key对应的值
+     *
+     * @param key 参数
+     * @return 返回值，不存在时返回null
+     * @throws Exception 编解码异常或文件读取异常
+     */
+    public V get(K key) throws Exception {
+        ByteBuffer value = find(keyCodec.encode(key));
+        return value == null || value == NULL_SLICE ? null : valueCodec.decode(value);
+    }
+
+    /**
+     * 是否存在key
+     *
+     * @param key 参数
+     * @return 返回值
+     * @throws Exception 编解码异常或文件读取异常
+     */
+    public boolean containsKey(K key) throws Exception {
+        return find(keyCodec.encode(key)) != null;
+    }
+
+    /**
+     * 写入key和值，value可以为null
+     *
+     * @param key   参数
+     * @param value 参数
+     * @throws Exception 编解码异常或文件写入异常
+     */
+    public void put(K key, V value) throws Exception {
+        byte[] keyBytes = keyCodec.encode(key);
+        append(keyBytes, value == null ? null : valueCodec.encode(value));
+    }
+
+    /**
+     * 对JFunction进行封装，结果保存在本文件中，已有结果时不再调用jFunction；只读模式下未命中时只计算不保存
+     *
+     * @param jFunction 自定义函数式接口
+     * @return 返回值
+     */
+    public JFunction<K, V> memoize(JFunction<? super K, ? extends V> jFunction) {
+        Objects.requireNonNull(jFunction);
+        return key -> {
+            byte[] keyBytes = keyCodec.encode(key);
+            ByteBuffer cached = find(keyBytes);
+            if (cached != null) {
+                return cached == NULL_SLICE ? null : valueCodec.decode(cached);
+            }
+            V value = jFunction.apply(key);
+            if (!readOnly) {
+                append(keyBytes, value == null ? null : valueCodec.encode(value));
+            }
+            return value;
+        };
+    }
+
+    /**
+     * key的数量
+     *
+     * @return 返回值
+     */
+    public int size() {
+        return currentState().index.size();
+    }
+
+    /**
+     * 被覆盖的旧记录占用的字节数，可据此决定何时调用compact()
+     *
+     * @return 返回值
+     */
+    public long deadBytes() {
+        lock.lock();
+        try {
+            return deadBytes;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 压缩文件：只保留每个key的最新记录，写入新文件后原子替换原文件；已打开原文件的只读方会自动切换到新文件
+     *
+     * @throws IOException 文件写入异常
+     */
+    public void compact() throws IOException {
+        lock.lock();
+        try {
+            checkWritable();
+            State old = state;
+            long liveSize = HEADER_SIZE;
+            for (Long offset : old.index.values()) {
+                liveSize += recordSize(old.buffer, offset);
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".compact");
+            FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            State compacted;
+            try {
+                FileLock fileLock = channel.lock();
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(liveSize, INITIAL_SIZE));
+                writeHeader(buffer);
+                ConcurrentHashMap<ByteKey, Long> index = new ConcurrentHashMap<>(old.index.size());
+                long position = HEADER_SIZE;
+                for (Map.Entry<ByteKey, Long> entry : old.index.entrySet()) {
+                    long offset = entry.getValue();
+                    int size = recordSize(old.buffer, offset);
+                    ByteBuffer source = old.buffer.duplicate();
+                    source.position((int) offset).limit((int) offset + size);
+                    ByteBuffer target = buffer.duplicate();
+                    target.position((int) position);
+                    target.put(source);
+                    index.put(entry.getKey(), position);
+                    position += size;
+                }
+                buffer.putLong(COMMITTED_OFFSET, position);
+                buffer.force();
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                compacted = new State(channel, fileLock, buffer, index);
+                end = position;
+            }
+            catch (IOException | RuntimeException e) {
+                channel.close();
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            old.buffer.putInt(FLAGS_OFFSET, FLAG_REPLACED);
+            old.buffer.force();
+            state = compacted;
+            deadBytes = 0;
+            old.channel.close();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 关闭文件，写模式下同时释放文件锁
+     *
+     * @throws IOException 关闭异常
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            State current = state;
+            if (!readOnly) {
+                current.buffer.force();
+            }
+            current.channel.close();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /****************************************************************************************************/
+
+    private State currentState() {
+        if (closed) {
+            throw new IllegalStateException(path + "已关闭");
+        }
+        return state;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException(path + "以只读模式打开");
+        }
+        currentState();
+    }
+
+    /**
+     * 查找key对应的value字节
+     *
+     * @param key key字节
+     * @return 不存在时返回null，值为null时返回NULL_SLICE
+     * @throws IOException 只读模式下读取新记录时的异常
+     */
+    private ByteBuffer find(byte[] key) throws IOException {
+        ByteKey byteKey = new ByteKey(key);
+        for (;;) {
+            State current = currentState();
+            Long offset = current.index.get(byteKey);
+            if (offset == null) {
+                if (readOnly && refresh()) {
+                    continue;
+                }
+                return null;
+            }
+            MappedByteBuffer buffer = current.buffer;
+            int position = offset.intValue();
+            if ((long) position + RECORD_HEADER > buffer.capacity()
+                    || (long) position + recordSize(buffer, position) > buffer.capacity()) {
+                // 索引由新旧映射共享，ensureCapacity()或refresh()替换映射后记录可能位于新的映射中，换用新的映射重试
+                if (state == current) {
+                    throw new IOException(path + "中的记录超出映射范围：" + position);
+                }
+                continue;
+            }
+            int keyLength = buffer.getInt(position);
+            int valueLength = buffer.getInt(position + 4);
+            if (valueLength == NULL_VALUE) {
+                return NULL_SLICE;
+            }
+            int valueOffset = position + RECORD_HEADER + keyLength;
+            ByteBuffer value = buffer.duplicate();
+            value.position(valueOffset).limit(valueOffset + valueLength);
+            return value.slice();
+        }
+    }
+
+    private void append(byte[] key, byte[] value) throws IOException {
+        lock.lock();
+        try {
+            checkWritable();
+            int valueLength = value == null ? NULL_VALUE : value.length;
+            long size = RECORD_HEADER + key.length + (value == null ? 0L : value.length);
+            long offset = end;
+            State current = ensureCapacity(offset + size);
+            MappedByteBuffer buffer = current.buffer;
+            ByteBuffer out = buffer.duplicate();
+            out.position((int) offset);
+            out.putInt(key.length).putInt(valueLength).putInt(crc(key, value)).put(key);
+            if (value != null) {
+                out.put(value);
+            }
+            if (forceOnWrite) {
+                buffer.force();
+            }
+            buffer.putLong(COMMITTED_OFFSET, offset + size);
+            if (forceOnWrite) {
+                buffer.force();
+            }
+            end = offset + size;
+            Long previous = current.index.put(new ByteKey(key), offset);
+            if (previous != null) {
+                deadBytes += recordSize(buffer, previous);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private State ensureCapacity(long required) throws IOException {
+        State current = state;
+        if (required <= current.buffer.capacity()) {
+            return current;
+        }
+        if (required > MAX_SIZE) {
+            throw new IOException(path + "超过单个文件2GB的上限");
+        }
+        long size = Math.min(MAX_SIZE, Math.max(required, (long) current.buffer.capacity() * 2));
+        MappedByteBuffer buffer = current.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        State grown = new State(current.channel, current.lock, buffer, current.index);
+        state = grown;
+        return grown;
+    }
+
+    /**
+     * 只读模式下读取写方新提交的记录
+     *
+     * @return 是否有新记录
+     * @throws IOException 文件读取异常
+     */
+    private boolean refresh() throws IOException {
+        lock.lock();
+        try {
+            State current = currentState();
+            MappedByteBuffer buffer = current.buffer;
+            if ((buffer.getInt(FLAGS_OFFSET) & FLAG_REPLACED) != 0) {
+                state = openReadable();
+                current.channel.close();
+                return true;
+            }
+            long committed = buffer.getLong(COMMITTED_OFFSET);
+            if (committed <= end) {
+                return false;
+            }
+            if (committed > buffer.capacity()) {
+                buffer = current.channel.map(FileChannel.MapMode.READ_ONLY, 0, current.channel.size());
+                state = new State(current.channel, null, buffer, current.index);
+            }
+            long scanned = scan(buffer, end, committed, current.index);
+            boolean changed = scanned > end;
+            end = scanned;
+            return changed;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private State openWritable(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock fileLock;
+            try {
+                fileLock = channel.tryLock();
+            }
+            catch (OverlappingFileLockException e) {
+                fileLock = null;
+            }
+            if (fileLock == null) {
+                throw new IOException(file + "已被其它进程以写模式打开");
+            }
+            long fileSize = channel.size();
+            // 先按文件实际大小读出文件头并校验，校验通过后才扩展映射，避免把路径写错的文件撑大
+            ByteBuffer header = readHeader(channel);
+            boolean fresh = isZero(header);
+            if (!fresh) {
+                checkHeader(header);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(fileSize, INITIAL_SIZE));
+            if (fresh) {
+                // 空文件，或上次映射后还没写完文件头就崩溃留下的全零文件
+                writeHeader(buffer);
+            }
+            ConcurrentHashMap<ByteKey, Long> index = new ConcurrentHashMap<>();
+            long committed = buffer.getLong(COMMITTED_OFFSET);
+            end = scan(buffer, HEADER_SIZE, committed, index);
+            if (end != committed) {
+                // 丢弃崩溃时写了一半的记录
+                buffer.putLong(COMMITTED_OFFSET, end);
+            }
+            return new State(channel, fileLock, buffer, index);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private State openReadable() throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            checkHeader(buffer);
+            ConcurrentHashMap<ByteKey, Long> index = new ConcurrentHashMap<>();
+            end = scan(buffer, HEADER_SIZE, buffer.getLong(COMMITTED_OFFSET), index);
+            return new State(channel, null, buffer, index);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void writeHeader(MappedByteBuffer buffer) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(COMMITTED_OFFSET, HEADER_SIZE);
+        buffer.putInt(FLAGS_OFFSET, 0);
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                break;
+            }
+        }
+        header.flip();
+        return header;
+    }
+
+    private static boolean isZero(ByteBuffer header) {
+        for (int i = 0; i < header.limit(); i++) {
+            if (header.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(path + "不是MappedMemoStore文件");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException(path + "版本不支持：" + buffer.getInt(4));
+        }
+    }
+
+    /**
+     * 扫描[from, to)之间的记录并加入索引，遇到不完整或校验失败的记录即停止
+     *
+     * @return 最后一条有效记录的结束位置
+     */
+    private long scan(MappedByteBuffer buffer, long from, long to, Map<ByteKey, Long> index) {
+        long limit = Math.min(to, buffer.capacity());
+        long position = from;
+        while (position + RECORD_HEADER <= limit) {
+            int keyLength = buffer.getInt((int) position);
+            int valueLength = buffer.getInt((int) position + 4);
+            int crc = buffer.getInt((int) position + 8);
+            long recordEnd = position + RECORD_HEADER + keyLength + Math.max(valueLength, 0);
+            if (keyLength < 0 || valueLength < NULL_VALUE || recordEnd > limit) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            ByteBuffer in = buffer.duplicate();
+            in.position((int) position + RECORD_HEADER);
+            in.get(key);
+            CRC32 checksum = new CRC32();
+            checksum.update(key);
+            if (valueLength > 0) {
+                in.limit((int) recordEnd);
+                checksum.update(in);
+            }
+            if ((int) checksum.getValue() != crc) {
+                break;
+            }
+            Long previous = index.put(new ByteKey(key), position);
+            if (previous != null) {
+                deadBytes += recordSize(buffer, previous);
+            }
+            position = recordEnd;
+        }
+        return position;
+    }
+
+    private static int recordSize(ByteBuffer buffer, long offset) {
+        return RECORD_HEADER + buffer.getInt((int) offset) + Math.max(buffer.getInt((int) offset + 4), 0);
+    }
+
+    private static int crc(byte[] key, byte[] value) {
+        CRC32 checksum = new CRC32();
+        checksum.update(key);
+        if (value != null) {
+            checksum.update(value);
+        }
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * 一次映射对应的状态，扩容或压缩时整体替换，保证读方拿到的索引与映射一致
+     */
+    private static final class State {
+
+        final FileChannel channel;
+
+        final FileLock lock;
+
+        final MappedByteBuffer buffer;
+
+        final ConcurrentHashMap<ByteKey, Long> index;
+
+        State(FileChannel channel, FileLock lock, MappedByteBuffer buffer, ConcurrentHashMap<ByteKey, Long> index) {
+            this.channel = channel;
+            this.lock = lock;
+            this.buffer = buffer;
+            this.index = index;
+        }
+    }
+
+    private static final class ByteKey {
+
+        private final byte[] bytes;
+
+        private final int hash;
+
+        ByteKey(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ByteKey && Arrays.equals(bytes, ((ByteKey) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
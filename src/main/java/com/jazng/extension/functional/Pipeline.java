@@ -0,0 +1,572 @@
+package com.jazng.extension.functional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author JJ_yo
+ * 分阶段流水线
+ * 每个阶段是一个JFunction/JConsumer，有自己的并发数和一个有界的输入队列：下游处理不过来时上游阻塞在队列上（背压），
+ * 慢的I/O阶段和CPU阶段可以分别调整并发数。stats()返回每个阶段的处理数量、吞吐量、繁忙程度和队列深度。
+ * 有序模式下结果按put()的顺序交给sink，同时在途的元素数量有上限；无序模式下结果处理完即交给sink，sink需要是线程安全的。
+ * 任一阶段抛出异常时整个流水线停止，await()抛出该原始异常
+ * 例：
+ * Pipeline&lt;String&gt; pipeline = Pipeline.&lt;String&gt;builder()
+ *         .stage("parse", this::parse, 2, 256)
+ *         .stage("fetch", this::fetch, 64, 1024)
+ *         .ordered(true)
+ *         .start(this::save);
+ * 2026-10-19 17:40
+ * @version: 1.0
+ */
+public final class Pipeline<I> {
+
+    /**
+     * 通知阶段的worker退出
+     */
+    private static final Object POISON = new Object();
+
+    private final List<Stage> stages;
+
+    private final JConsumer<Object> sink;
+
+    private final boolean ordered;
+
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * 有序模式下在途元素数量的上限
+     */
+    private final Semaphore window;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ReentrantLock emitLock = new ReentrantLock();
+
+    /**
+     * 有序模式下已处理完、等待前面元素的结果，受emitLock保护
+     */
+    private final Map<Long, Envelope> reorder = new HashMap<>();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+
+    private final CountDownLatch terminated;
+
+    private final AtomicInteger completed = new AtomicInteger();
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * 有序模式下下一个要交给sink的序号，受emitLock保护
+     */
+    private long nextToEmit;
+
+    private Pipeline(Builder<I, ?> builder, JConsumer<Object> sink) {
+        this.sink = sink;
+        this.ordered = builder.ordered;
+        List<Stage> list = new ArrayList<>(builder.specs.size());
+        int workerCount = 0;
+        int inFlight = 0;
+        for (StageSpec spec : builder.specs) {
+            list.add(new Stage(spec));
+            workerCount += spec.parallelism;
+            inFlight += spec.parallelism + spec.queueCapacity;
+        }
+        this.stages = Collections.unmodifiableList(list);
+        this.window = ordered ? new Semaphore(inFlight) : null;
+        this.terminated = new CountDownLatch(workerCount);
+        Executor executor = builder.executor;
+        if (executor == null) {
+            ownedExecutor = ExecutorUtils.newVirtualThreadExecutor();
+            executor = ownedExecutor;
+        }
+        else {
+            ownedExecutor = null;
+        }
+        for (int i = 0; i < stages.size(); i++) {
+            Stage stage = stages.get(i);
+            Stage next = i + 1 < stages.size() ? stages.get(i + 1) : null;
+            for (int j = 0; j < stage.parallelism; j++) {
+                executor.execute(() -> work(stage, next));
+            }
+        }
+    }
+
+    /**
+     * 创建流水线
+     *
+     * @param <I> 输入的泛型
+     * @return 返回值
+     */
+    public static <I> Builder<I, I> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 放入一个元素，第一个阶段的队列已满（有序模式下在途元素已达上限）时阻塞
+     *
+     * @param item 元素
+     * @throws Exception 流水线已失败时抛出其原始异常，等待时被中断时抛出InterruptedException
+     */
+    public void put(I item) throws Exception {
+        checkFailure();
+        if (completed.get() != 0) {
+            throw new IllegalStateException("Pipeline已调用complete()");
+        }
+        if (ordered) {
+            window.acquire();
+            checkFailure();
+        }
+        Envelope envelope = new Envelope(ordered ? sequence.getAndIncrement() : 0L, item);
+        stages.get(0).queue.put(envelope);
+        checkFailure();
+    }
+
+    /**
+     * 不再放入元素，已放入的元素处理完后流水线结束
+     *
+     * @throws InterruptedException 等待第一个阶段的队列时被中断
+     */
+    public void complete() throws InterruptedException {
+        if (completed.compareAndSet(0, 1)) {
+            Stage first = stages.get(0);
+            for (int i = 0; i < first.parallelism; i++) {
+                first.queue.put(POISON);
+            }
+        }
+    }
+
+    /**
+     * 等待所有阶段结束
+     *
+     * @throws Exception 任一阶段抛出的原始异常，或等待时的InterruptedException
+     */
+    public void await() throws Exception {
+        terminated.await();
+        checkFailure();
+    }
+
+    /**
+     * 放入所有元素，然后等待所有阶段结束
+     *
+     * @param items 元素
+     * @throws Exception 任一阶段抛出的原始异常，或等待时的InterruptedException
+     */
+    public void run(Iterable<? extends I> items) throws Exception {
+        try {
+            for (I item : items) {
+                put(item);
+            }
+            complete();
+        }
+        catch (Exception e) {
+            fail(e);
+        }
+        await();
+    }
+
+    /**
+     * 取消流水线，已放入的元素不再处理，await()抛出CancellationException
+     */
+    public void cancel() {
+        fail(new CancellationException("Pipeline已取消"));
+    }
+
+    /**
+     * 每个阶段的统计信息，按阶段顺序排列
+     *
+     * @return 返回值
+     */
+    public List<StageStats> stats() {
+        long elapsed = System.nanoTime() - startNanos;
+        List<StageStats> result = new ArrayList<>(stages.size());
+        for (Stage stage : stages) {
+            result.add(new StageStats(stage, elapsed));
+        }
+        return result;
+    }
+
+    /****************************************************************************************************/
+
+    private void checkFailure() throws Exception {
+        Throwable e = failure.get();
+        if (e != null) {
+            throw ExceptionUtils.rethrow(e);
+        }
+    }
+
+    /**
+     * 记录第一个异常，中断所有worker并清空队列，让阻塞在队列上的生产者和worker都能退出
+     */
+    private void fail(Throwable e) {
+        if (!failure.compareAndSet(null, e)) {
+            return;
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Stage stage : stages) {
+            stage.queue.clear();
+        }
+        if (window != null) {
+            window.release(Integer.MAX_VALUE >> 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void work(Stage stage, Stage next) {
+        Thread current = Thread.currentThread();
+        workers.add(current);
+        try {
+            while (failure.get() == null) {
+                Object element = stage.queue.take();
+                if (element == POISON) {
+                    break;
+                }
+                Envelope envelope = (Envelope) element;
+                long begin = System.nanoTime();
+                envelope.value = ((JFunction<Object, Object>) stage.function).apply(envelope.value);
+                stage.busyNanos.add(System.nanoTime() - begin);
+                stage.processed.increment();
+                if (next != null) {
+                    next.queue.put(envelope);
+                }
+                else {
+                    emit(envelope);
+                }
+            }
+        }
+        catch (Throwable e) {
+            // fail()中断worker时产生的InterruptedException不会覆盖原来的异常
+            fail(e);
+        }
+        finally {
+            workers.remove(current);
+            if (stage.remaining.decrementAndGet() == 0 && next != null) {
+                passPoison(next);
+            }
+            // 清除fail()发出的中断，避免影响同一线程上的下一个任务
+            Thread.interrupted();
+            terminated.countDown();
+            if (terminated.getCount() == 0L && ownedExecutor != null) {
+                ownedExecutor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 一个阶段的worker全部退出后，通知下一个阶段的worker退出
+     */
+    private void passPoison(Stage next) {
+        for (int i = 0; i < next.parallelism; i++) {
+            if (failure.get() != null) {
+                // 下一个阶段的worker已被中断
+                return;
+            }
+            try {
+                next.queue.put(POISON);
+            }
+            catch (InterruptedException e) {
+                fail(e);
+                return;
+            }
+        }
+    }
+
+    private void emit(Envelope envelope) throws Exception {
+        if (!ordered) {
+            sink.accept(envelope.value);
+            return;
+        }
+        emitLock.lock();
+        try {
+            reorder.put(envelope.sequence, envelope);
+            Envelope head;
+            while ((head = reorder.remove(nextToEmit)) != null) {
+                nextToEmit++;
+                window.release();
+                sink.accept(head.value);
+            }
+        }
+        finally {
+            emitLock.unlock();
+        }
+    }
+
+    /**
+     * 在阶段之间传递的元素，每个阶段原地替换value
+     */
+    private static final class Envelope {
+
+        final long sequence;
+
+        Object value;
+
+        Envelope(long sequence, Object value) {
+            this.sequence = sequence;
+            this.value = value;
+        }
+    }
+
+    private static final class StageSpec {
+
+        final String name;
+
+        final JFunction<?, ?> function;
+
+        final int parallelism;
+
+        final int queueCapacity;
+
+        StageSpec(String name, JFunction<?, ?> function, int parallelism, int queueCapacity) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("parallelism必须大于0");
+            }
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("queueCapacity必须大于0");
+            }
+            this.name = Objects.requireNonNull(name);
+            this.function = Objects.requireNonNull(function);
+            this.parallelism = parallelism;
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    private static final class Stage {
+
+        final String name;
+
+        final JFunction<?, ?> function;
+
+        final int parallelism;
+
+        final int queueCapacity;
+
+        /**
+         * 本阶段的输入队列，容量额外留出放POISON的位置
+         */
+        final BlockingQueue<Object> queue;
+
+        final AtomicInteger remaining;
+
+        final LongAdder processed = new LongAdder();
+
+        final LongAdder busyNanos = new LongAdder();
+
+        Stage(StageSpec spec) {
+            this.name = spec.name;
+            this.function = spec.function;
+            this.parallelism = spec.parallelism;
+            this.queueCapacity = spec.queueCapacity;
+            this.queue = new ArrayBlockingQueue<>(spec.queueCapacity + spec.parallelism);
+            this.remaining = new AtomicInteger(spec.parallelism);
+        }
+    }
+
+    /**
+     * 流水线构造器，每调用一次stage()/peek()增加一个阶段
+     */
+    public static final class Builder<I, T> {
+
+        private final List<StageSpec> specs = new ArrayList<>();
+
+        private boolean ordered;
+
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * 增加一个转换阶段
+         *
+         * @param name          阶段名称
+         * @param jFunction     自定义函数式接口
+         * @param parallelism   并发数
+         * @param queueCapacity 输入队列容量
+         * @param <R>           泛型
+         * @return 返回值
+         */
+        @SuppressWarnings("unchecked")
+        public <R> Builder<I, R> stage(String name, JFunction<? super T, ? extends R> jFunction, int parallelism, int queueCapacity) {
+            specs.add(new StageSpec(name, jFunction, parallelism, queueCapacity));
+            return (Builder<I, R>) this;
+        }
+
+        /**
+         * 增加一个消费阶段，元素消费后原样传给下一个阶段
+         *
+         * @param name          阶段名称
+         * @param jConsumer     自定义函数式接口
+         * @param parallelism   并发数
+         * @param queueCapacity 输入队列容量
+         * @return 返回值
+         */
+        public Builder<I, T> peek(String name, JConsumer<? super T> jConsumer, int parallelism, int queueCapacity) {
+            Objects.requireNonNull(jConsumer);
+            JFunction<T, T> jFunction = t -> {
+                jConsumer.accept(t);
+                return t;
+            };
+            specs.add(new StageSpec(name, jFunction, parallelism, queueCapacity));
+            return this;
+        }
+
+        /**
+         * 是否按put()的顺序把结果交给sink，默认否
+         *
+         * @param ordered 是否有序
+         * @return 返回值
+         */
+        public Builder<I, T> ordered(boolean ordered) {
+            this.ordered = ordered;
+            return this;
+        }
+
+        /**
+         * 执行worker的线程池，需要能同时运行所有阶段的worker（并发数之和）；不指定时使用ExecutorUtils.newVirtualThreadExecutor()
+         *
+         * @param executor 线程池
+         * @return 返回值
+         */
+        public Builder<I, T> executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * 启动流水线，最后一个阶段的结果交给sink；无序模式下sink会被多个线程同时调用
+         *
+         * @param sink 自定义函数式接口
+         * @return 返回值
+         */
+        @SuppressWarnings("unchecked")
+        public Pipeline<I> start(JConsumer<? super T> sink) {
+            Objects.requireNonNull(sink);
+            if (specs.isEmpty()) {
+                throw new IllegalStateException("Pipeline至少需要一个阶段");
+            }
+            return new Pipeline<>(this, (JConsumer<Object>) sink);
+        }
+    }
+
+    /**
+     * 阶段的统计信息
+     */
+    public static final class StageStats {
+
+        private final String name;
+
+        private final int parallelism;
+
+        private final long processed;
+
+        private final int queueDepth;
+
+        private final int queueCapacity;
+
+        private final double throughput;
+
+        private final double utilization;
+
+        private StageStats(Stage stage, long elapsedNanos) {
+            this.name = stage.name;
+            this.parallelism = stage.parallelism;
+            this.processed = stage.processed.sum();
+            this.queueDepth = stage.queue.size();
+            this.queueCapacity = stage.queueCapacity;
+            double seconds = Math.max(elapsedNanos, 1L) / 1e9;
+            this.throughput = processed / seconds;
+            this.utilization = Math.min(1.0, stage.busyNanos.sum() / (seconds * 1e9 * parallelism));
+        }
+
+        /**
+         * 阶段名称
+         *
+         * @return 返回值
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * 并发数
+         *
+         * @return 返回值
+         */
+        public int parallelism() {
+            return parallelism;
+        }
+
+        /**
+         * 已处理的元素数量
+         *
+         * @return 返回值
+         */
+        public long processed() {
+            return processed;
+        }
+
+        /**
+         * 输入队列中等待处理的元素数量
+         *
+         * @return 返回值
+         */
+        public int queueDepth() {
+            return queueDepth;
+        }
+
+        /**
+         * 输入队列容量
+         *
+         * @return 返回值
+         */
+        public int queueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * 流水线启动以来每秒处理的元素数量
+         *
+         * @return 返回值
+         */
+        public double throughput() {
+            return throughput;
+        }
+
+        /**
+         * worker处于处理状态的时间占比，接近1说明该阶段是瓶颈，可以增加并发数
+         *
+         * @return 返回值
+         */
+        public double utilization() {
+            return utilization;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s{parallelism=%d, processed=%d, queue=%d/%d, throughput=%.1f/s, utilization=%.0f%%}",
+                    name, parallelism, processed, queueDepth, queueCapacity, throughput, utilization * 100);
+        }
+    }
+}
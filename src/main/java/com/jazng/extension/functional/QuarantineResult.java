@@ -0,0 +1,146 @@
+package com.jazng.extension.functional;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author JJ_yo
+ * 容错批量处理的结果
+ * 成功的结果按输入顺序紧密排列，没有null占位，sourceIndex()给出每个结果对应的输入位置；
+ * 失败的输入及其原始异常放在隔离区中，隔离区有容量上限，超出的失败只计数
+ * 2026-10-19 21:00
+ * @version: 1.0
+ */
+public final class QuarantineResult<T, R> {
+
+    private final List<R> results;
+
+    private final int[] sourceIndices;
+
+    private final List<Failure<T>> quarantine;
+
+    private final long failureCount;
+
+    QuarantineResult(List<R> results, int[] sourceIndices, List<Failure<T>> quarantine, long failureCount) {
+        this.results = Collections.unmodifiableList(results);
+        this.sourceIndices = sourceIndices;
+        this.quarantine = Collections.unmodifiableList(quarantine);
+        this.failureCount = failureCount;
+    }
+
+    /**
+     * 成功的结果，按输入顺序排列
+     *
+     * @return 返回值
+     */
+    public List<R> results() {
+        return results;
+    }
+
+    /**
+     * 第i个成功结果对应的输入位置
+     *
+     * @param i 结果位置
+     * @return 返回值
+     */
+    public int sourceIndex(int i) {
+        if (sourceIndices == null) {
+            if (i < 0 || i >= results.size()) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + results.size());
+            }
+            return i;
+        }
+        return sourceIndices[i];
+    }
+
+    /**
+     * 隔离区中的失败，按输入位置排列，最多为创建时指定的容量
+     *
+     * @return 返回值
+     */
+    public List<Failure<T>> quarantine() {
+        return quarantine;
+    }
+
+    /**
+     * 失败的输入总数，包括超出隔离区容量的部分
+     *
+     * @return 返回值
+     */
+    public long failureCount() {
+        return failureCount;
+    }
+
+    /**
+     * 超出隔离区容量、没有保留的失败数量
+     *
+     * @return 返回值
+     */
+    public long overflowCount() {
+        return failureCount - quarantine.size();
+    }
+
+    /**
+     * 是否全部成功
+     *
+     * @return 返回值
+     */
+    public boolean allSucceeded() {
+        return failureCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "QuarantineResult{succeeded=" + results.size() + ", failed=" + failureCount + ", overflow=" + overflowCount() + "}";
+    }
+
+    /**
+     * 失败的输入
+     */
+    public static final class Failure<T> {
+
+        private final int index;
+
+        private final T input;
+
+        private final Throwable exception;
+
+        Failure(int index, T input, Throwable exception) {
+            this.index = index;
+            this.input = input;
+            this.exception = exception;
+        }
+
+        /**
+         * 输入位置
+         *
+         * @return 返回值
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * 输入
+         *
+         * @return 返回值
+         */
+        public T input() {
+            return input;
+        }
+
+        /**
+         * 原始异常
+         *
+         * @return 返回值
+         */
+        public Throwable exception() {
+            return exception;
+        }
+
+        @Override
+        public String toString() {
+            return "Failure{index=" + index + ", input=" + input + ", exception=" + exception + "}";
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.jazng.extension.functional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author JJ_yo
+ * 容错的并行批量处理工具类
+ * FunctionalUtils.function()等方法在异常时返回null，批量处理后需要重新扫描结果才能找到失败的元素，也不知道是哪个输入导致的。
+ * 这里的方法在ForkJoinPool中并行处理（使用RangeUtils的自适应拆分），失败的输入连同位置和原始异常放入隔离区，其它元素照常处理：
+ * 失败记录直接写入结果数组中该输入的位置，写入时不加锁，调用结束后不会残留在工作线程中；隔离区有容量上限，超出的失败只计数。
+ * 成功的结果按输入顺序紧密排列，没有失败时直接使用结果数组，不需要再复制
+ * 例：
+ * QuarantineResult&lt;Long, User&gt; result = QuarantineUtils.map(ids, userDao::findById, 100);
+ * result.quarantine().forEach(failure -&gt; log.warn("id={}", failure.input(), failure.exception()));
+ * 2026-10-19 21:00
+ * @version: 1.0
+ */
+public final class QuarantineUtils {
+
+    /**
+     * 结果数组中表示失败的标记，未进入隔离区的失败
+     */
+    private static final Object FAILED = new Object();
+
+    private QuarantineUtils() {
+    }
+
+    /**
+     * 在公共ForkJoinPool中对每个输入执行jFunction，失败的输入放入隔离区
+     *
+     * @param inputs        输入
+     * @param jFunction     自定义函数式接口
+     * @param maxQuarantine 隔离区容量
+     * @param <T>           泛型
+     * @param <R>           泛型
+     * @return 返回值
+     */
+    public static <T, R> QuarantineResult<T, R> map(List<? extends T> inputs, JFunction<? super T, ? extends R> jFunction,
+                                                    int maxQuarantine) {
+        return map(inputs, jFunction, maxQuarantine, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定的ForkJoinPool中对每个输入执行jFunction，失败的输入放入隔离区
+     *
+     * @param inputs        输入
+     * @param jFunction     自定义函数式接口
+     * @param maxQuarantine 隔离区容量
+     * @param pool          ForkJoinPool
+     * @param <T>           泛型
+     * @param <R>           泛型
+     * @return 返回值
+     */
+    public static <T, R> QuarantineResult<T, R> map(List<? extends T> inputs, JFunction<? super T, ? extends R> jFunction,
+                                                    int maxQuarantine, ForkJoinPool pool) {
+        Objects.requireNonNull(jFunction);
+        return run(inputs, jFunction::apply, maxQuarantine, pool);
+    }
+
+    /**
+     * 在公共ForkJoinPool中对每个输入执行jConsumer，失败的输入放入隔离区，结果为处理成功的输入
+     *
+     * @param inputs        输入
+     * @param jConsumer     自定义函数式接口
+     * @param maxQuarantine 隔离区容量
+     * @param <T>           泛型
+     * @return 返回值
+     */
+    public static <T> QuarantineResult<T, T> forEach(List<? extends T> inputs, JConsumer<? super T> jConsumer, int maxQuarantine) {
+        return forEach(inputs, jConsumer, maxQuarantine, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定的ForkJoinPool中对每个输入执行jConsumer，失败的输入放入隔离区，结果为处理成功的输入
+     *
+     * @param inputs        输入
+     * @param jConsumer     自定义函数式接口
+     * @param maxQuarantine 隔离区容量
+     * @param pool          ForkJoinPool
+     * @param <T>           泛型
+     * @return 返回值
+     */
+    public static <T> QuarantineResult<T, T> forEach(List<? extends T> inputs, JConsumer<? super T> jConsumer, int maxQuarantine,
+                                                     ForkJoinPool pool) {
+        Objects.requireNonNull(jConsumer);
+        return run(inputs, input -> {
+            jConsumer.accept(input);
+            return input;
+        }, maxQuarantine, pool);
+    }
+
+    /****************************************************************************************************/
+
+    @SuppressWarnings("unchecked")
+    private static <T, R> QuarantineResult<T, R> run(List<? extends T> inputs, JFunction<T, R> jFunction, int maxQuarantine,
+                                                     ForkJoinPool pool) {
+        if (maxQuarantine < 0) {
+            throw new IllegalArgumentException("maxQuarantine不能为负数");
+        }
+        List<? extends T> source = inputs instanceof RandomAccess ? inputs : new ArrayList<>(inputs);
+        int size = source.size();
+        Object[] results = new Object[size];
+        Quarantine<T> quarantine = new Quarantine<>(maxQuarantine);
+        try {
+            RangeUtils.forEach(0, size, index -> {
+                T input = source.get(index);
+                try {
+                    results[index] = jFunction.apply(input);
+                }
+                catch (Exception e) {
+                    results[index] = quarantine.add(index, input, e);
+                }
+                return null;
+            }, 0, pool);
+        }
+        catch (Exception e) {
+            // 异常已放入隔离区，这里只会是Error
+            throw ExceptionUtils.sneakyThrow(e);
+        }
+        long failureCount = quarantine.failures.sum();
+        if (failureCount == 0) {
+            return new QuarantineResult<>((List<R>) Arrays.asList(results), null, new ArrayList<>(0), 0);
+        }
+        int succeeded = (int) (size - failureCount);
+        Object[] dense = new Object[succeeded];
+        int[] sourceIndices = new int[succeeded];
+        List<QuarantineResult.Failure<T>> failures = new ArrayList<>(quarantine.admitted());
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            Object result = results[i];
+            if (result instanceof Quarantined) {
+                failures.add(((Quarantined<T>) result).failure);
+            }
+            else if (result != FAILED) {
+                dense[next] = result;
+                sourceIndices[next] = i;
+                next++;
+            }
+        }
+        return new QuarantineResult<>((List<R>) Arrays.asList(dense), sourceIndices, failures, failureCount);
+    }
+
+    /**
+     * 隔离区的容量控制，只用一个计数器；失败记录保存在结果数组中，按下标顺序收集
+     */
+    private static final class Quarantine<T> {
+
+        private final int capacity;
+
+        private final AtomicInteger admitted = new AtomicInteger();
+
+        private final LongAdder failures = new LongAdder();
+
+        Quarantine(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * 记录一次失败
+         *
+         * @return 放入结果数组的值：进入隔离区时为Quarantined，否则为FAILED
+         */
+        Object add(int index, T input, Throwable exception) {
+            failures.increment();
+            if (admitted.get() < capacity && admitted.getAndIncrement() < capacity) {
+                return new Quarantined<>(new QuarantineResult.Failure<>(index, input, exception));
+            }
+            return FAILED;
+        }
+
+        int admitted() {
+            return Math.min(admitted.get(), capacity);
+        }
+    }
+
+    /**
+     * 结果数组中进入隔离区的失败，类型为私有，jFunction的返回值不会与之混淆
+     */
+    private static final class Quarantined<T> {
+
+        final QuarantineResult.Failure<T> failure;
+
+        Quarantined(QuarantineResult.Failure<T> failure) {
+            this.failure = failure;
+        }
+    }
+}
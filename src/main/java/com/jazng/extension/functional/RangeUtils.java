@@ -0,0 +1,352 @@
+package com.jazng.extension.functional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * @author JJ_yo
+ * 下标区间的并行执行工具类
+ * 在ForkJoinPool中对[from, to)区间内的每个下标执行JIntFunction/JLongFunction/JLongUnaryOperator，下标不装箱，
+ * 区间可以有几十亿个下标（文件偏移、id等）。区间按自适应粒度拆分：每个任务按grain个下标一段执行，
+ * 每段之间检查线程池中是否有空闲线程（队列中多余的任务数不超过阈值），需要时才把剩余区间的右半部分拆出去，
+ * 因此每个下标耗时不均匀时，空闲线程仍然可以分担耗时长的区间。
+ * 每个任务自己记录异常，合并时保留下标最小的异常，其它异常作为suppressed；任一下标失败后其它任务在下一个下标处停止。
+ * sum()/reduce()的结果在任务内以long累加，不装箱
+ * 例：
+ * long total = RangeUtils.sum(0, file.size() / BLOCK, block -&gt; checksum(file, block));
+ * 2026-10-19 20:30
+ * @version: 1.0
+ */
+public final class RangeUtils {
+
+    /**
+     * 队列中多余的任务数不超过该值时继续拆分
+     */
+    private static final int SURPLUS = 3;
+
+    /**
+     * 默认粒度的上限
+     */
+    private static final long MAX_DEFAULT_GRAIN = 1024L;
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private RangeUtils() {
+    }
+
+    /**
+     * 在公共ForkJoinPool中对[from, to)的每个下标执行jIntFunction，返回值忽略
+     *
+     * @param from         起点（包含）
+     * @param to           终点（不包含）
+     * @param jIntFunction 自定义函数式接口
+     * @throws Exception 下标最小的原始异常
+     */
+    public static void forEach(int from, int to, JIntFunction<?> jIntFunction) throws Exception {
+        forEach(from, to, jIntFunction, 0, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定的ForkJoinPool中对[from, to)的每个下标执行jIntFunction，返回值忽略
+     *
+     * @param from         起点（包含）
+     * @param to           终点（不包含）
+     * @param jIntFunction 自定义函数式接口
+     * @param grain        每段的下标数，即不再拆分的最小区间；为0时按区间大小和并行度计算
+     * @param pool         ForkJoinPool
+     * @throws Exception 下标最小的原始异常
+     */
+    public static void forEach(int from, int to, JIntFunction<?> jIntFunction, int grain, ForkJoinPool pool) throws Exception {
+        Objects.requireNonNull(jIntFunction);
+        invoke(from, to, index -> {
+            jIntFunction.apply((int) index);
+            return 0L;
+        }, 0L, Long::sum, grain, pool);
+    }
+
+    /**
+     * 在公共ForkJoinPool中对[from, to)的每个下标执行jLongFunction，返回值忽略
+     *
+     * @param from          起点（包含）
+     * @param to            终点（不包含）
+     * @param jLongFunction 自定义函数式接口
+     * @throws Exception 下标最小的原始异常
+     */
+    public static void forEachLong(long from, long to, JLongFunction<?> jLongFunction) throws Exception {
+        forEachLong(from, to, jLongFunction, 0L, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定的ForkJoinPool中对[from, to)的每个下标执行jLongFunction，返回值忽略
+     *
+     * @param from          起点（包含）
+     * @param to            终点（不包含）
+     * @param jLongFunction 自定义函数式接口
+     * @param grain         每段的下标数，即不再拆分的最小区间；为0时按区间大小和并行度计算
+     * @param pool          ForkJoinPool
+     * @throws Exception 下标最小的原始异常
+     */
+    public static void forEachLong(long from, long to, JLongFunction<?> jLongFunction, long grain, ForkJoinPool pool) throws Exception {
+        Objects.requireNonNull(jLongFunction);
+        invoke(from, to, index -> {
+            jLongFunction.apply(index);
+            return 0L;
+        }, 0L, Long::sum, grain, pool);
+    }
+
+    /**
+     * 在公共ForkJoinPool中对[from, to)的每个下标执行jIntFunction，结果按下标顺序放入List
+     *
+     * @param from         起点（包含）
+     * @param to           终点（不包含）
+     * @param jIntFunction 自定义函数式接口
+     * @param <R>          泛型
+     * @return 返回值，第i个元素为下标from + i的结果
+     * @throws Exception 下标最小的原始异常
+     */
+    public static <R> List<R> map(int from, int to, JIntFunction<? extends R> jIntFunction) throws Exception {
+        return map(from, to, jIntFunction, 0, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定的ForkJoinPool中对[from, to)的每个下标执行jIntFunction，结果按下标顺序放入List
+     *
+     * @param from         起点（包含）
+     * @param to           终点（不包含）
+     * @param jIntFunction 自定义函数式接口
+     * @param grain        每段的下标数，即不再拆分的最小区间；为0时按区间大小和并行度计算
+     * @param pool         ForkJoinPool
+     * @param <R>          泛型
+     * @return 返回值，第i个元素为下标from + i的结果
+     * @throws Exception 下标最小的原始异常
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> List<R> map(int from, int to, JIntFunction<? extends R> jIntFunction, int grain, ForkJoinPool pool) throws Exception {
+        Objects.requireNonNull(jIntFunction);
+        long size = Math.max(0L, (long) to - from);
+        if (size > MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("区间有" + size + "个下标，超过了数组的最大长度");
+        }
+        Object[] results = new Object[(int) size];
+        invoke(from, to, index -> {
+            results[(int) (index - from)] = jIntFunction.apply((int) index);
+            return 0L;
+        }, 0L, Long::sum, grain, pool);
+        return (List<R>) Arrays.asList(results);
+    }
+
+    /**
+     * 在公共ForkJoinPool中对[from, to)的每个下标执行jLongUnaryOperator并求和
+     *
+     * @param from               起点（包含）
+     * @param to                 终点（不包含）
+     * @param jLongUnaryOperator 自定义函数式接口，参数为下标
+     * @return 返回值
+     * @throws Exception 下标最小的原始异常
+     */
+    public static long sum(long from, long to, JLongUnaryOperator jLongUnaryOperator) throws Exception {
+        return reduce(from, to, jLongUnaryOperator, 0L, Long::sum, 0L, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定的ForkJoinPool中对[from, to)的每个下标执行jLongUnaryOperator并求和
+     *
+     * @param from               起点（包含）
+     * @param to                 终点（不包含）
+     * @param jLongUnaryOperator 自定义函数式接口，参数为下标
+     * @param grain              每段的下标数，即不再拆分的最小区间；为0时按区间大小和并行度计算
+     * @param pool               ForkJoinPool
+     * @return 返回值
+     * @throws Exception 下标最小的原始异常
+     */
+    public static long sum(long from, long to, JLongUnaryOperator jLongUnaryOperator, long grain, ForkJoinPool pool) throws Exception {
+        return reduce(from, to, jLongUnaryOperator, 0L, Long::sum, grain, pool);
+    }
+
+    /**
+     * 在公共ForkJoinPool中对[from, to)的每个下标执行jLongUnaryOperator，并用reducer合并结果，例如Math::max
+     *
+     * @param from               起点（包含）
+     * @param to                 终点（不包含）
+     * @param jLongUnaryOperator 自定义函数式接口，参数为下标
+     * @param identity           初始值
+     * @param reducer            合并函数，需要满足结合律，合并顺序与下标顺序一致
+     * @return 返回值
+     * @throws Exception 下标最小的原始异常
+     */
+    public static long reduce(long from, long to, JLongUnaryOperator jLongUnaryOperator, long identity,
+                              LongBinaryOperator reducer) throws Exception {
+        return reduce(from, to, jLongUnaryOperator, identity, reducer, 0L, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定的ForkJoinPool中对[from, to)的每个下标执行jLongUnaryOperator，并用reducer合并结果，例如Math::max
+     *
+     * @param from               起点（包含）
+     * @param to                 终点（不包含）
+     * @param jLongUnaryOperator 自定义函数式接口，参数为下标
+     * @param identity           初始值
+     * @param reducer            合并函数，需要满足结合律，合并顺序与下标顺序一致
+     * @param grain              每段的下标数，即不再拆分的最小区间；为0时按区间大小和并行度计算
+     * @param pool               ForkJoinPool
+     * @return 返回值
+     * @throws Exception 下标最小的原始异常
+     */
+    public static long reduce(long from, long to, JLongUnaryOperator jLongUnaryOperator, long identity,
+                              LongBinaryOperator reducer, long grain, ForkJoinPool pool) throws Exception {
+        Objects.requireNonNull(jLongUnaryOperator);
+        Objects.requireNonNull(reducer);
+        return invoke(from, to, jLongUnaryOperator, identity, reducer, grain, pool);
+    }
+
+    /****************************************************************************************************/
+
+    private static long invoke(long from, long to, JLongUnaryOperator body, long identity, LongBinaryOperator reducer,
+                               long grain, ForkJoinPool pool) throws Exception {
+        if (grain < 0) {
+            throw new IllegalArgumentException("grain不能为负数");
+        }
+        Objects.requireNonNull(pool);
+        if (from >= to) {
+            return identity;
+        }
+        long size = to - from;
+        if (size < 0) {
+            throw new IllegalArgumentException("区间过大");
+        }
+        if (grain == 0L) {
+            grain = Math.max(1L, Math.min(MAX_DEFAULT_GRAIN, size / ((long) pool.getParallelism() << 6)));
+        }
+        RangeTask task = new RangeTask(new Job(body, identity, reducer, grain), from, to);
+        pool.invoke(task);
+        if (task.failure != null) {
+            throw ExceptionUtils.rethrow(task.failure);
+        }
+        return task.result;
+    }
+
+    /**
+     * 一次执行中所有任务共用的参数
+     */
+    private static final class Job {
+
+        final JLongUnaryOperator body;
+
+        final long identity;
+
+        final LongBinaryOperator reducer;
+
+        final long grain;
+
+        volatile boolean failed;
+
+        Job(JLongUnaryOperator body, long identity, LongBinaryOperator reducer, long grain) {
+            this.body = body;
+            this.identity = identity;
+            this.reducer = reducer;
+            this.grain = grain;
+        }
+    }
+
+    /**
+     * 执行[lo, hi)的任务，按段执行，段之间按需拆出右半部分
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Job job;
+
+        private final long lo;
+
+        private final long hi;
+
+        /**
+         * 同一个父任务拆出的任务链表，先拆出的在后面（下标更大）
+         */
+        private RangeTask next;
+
+        private long result;
+
+        private Throwable failure;
+
+        private long failureIndex;
+
+        RangeTask(Job job, long lo, long hi) {
+            this.job = job;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            Job job = this.job;
+            JLongUnaryOperator body = job.body;
+            LongBinaryOperator reducer = job.reducer;
+            long grain = job.grain;
+            long lo = this.lo;
+            long hi = this.hi;
+            long acc = job.identity;
+            RangeTask forked = null;
+            while (lo < hi && !job.failed) {
+                if (hi - lo > grain && getSurplusQueuedTaskCount() <= SURPLUS) {
+                    long mid = lo + ((hi - lo) >>> 1);
+                    RangeTask right = new RangeTask(job, mid, hi);
+                    right.next = forked;
+                    forked = right;
+                    right.fork();
+                    hi = mid;
+                    continue;
+                }
+                long end = hi - lo > grain ? lo + grain : hi;
+                long index = lo;
+                try {
+                    for (; index < end; index++) {
+                        acc = reducer.applyAsLong(acc, body.applyAsLong(index));
+                    }
+                }
+                catch (Throwable e) {
+                    job.failed = true;
+                    fail(e, index);
+                    break;
+                }
+                lo = end;
+            }
+            // 链表头是最后拆出的任务，紧挨着当前区间，按下标顺序合并
+            for (RangeTask task = forked; task != null; task = task.next) {
+                task.join();
+                if (task.failure != null) {
+                    fail(task.failure, task.failureIndex);
+                }
+                else if (failure == null) {
+                    acc = reducer.applyAsLong(acc, task.result);
+                }
+            }
+            result = acc;
+        }
+
+        /**
+         * 保留下标最小的异常，其它异常作为suppressed
+         */
+        private void fail(Throwable e, long index) {
+            if (failure == null) {
+                failure = e;
+                failureIndex = index;
+            }
+            else if (index < failureIndex) {
+                if (e != failure) {
+                    e.addSuppressed(failure);
+                }
+                failure = e;
+                failureIndex = index;
+            }
+            else if (e != failure) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author JJ_yo
+ * 带过期时间、可提前刷新的缓存JSupplier
+ * 首次调用时加载一次，在有效期内直接返回缓存值（无锁读取）；进入提前刷新窗口后在后台异步刷新，调用方继续拿到当前值；
+ * 刷新失败时保留上一次成功的值，最多在过期后再使用maxStale时长
+ * 2026-10-19 09:45
+ * @version: 1.0
+ */
+public final class RefreshAheadSupplier<T> implements JSupplier<T> {
+
+    private final JSupplier<T> loader;
+
+    /**
+     * 值的有效期，超过后调用方需要等待重新加载
+     */
+    private final long ttlNanos;
+
+    /**
+     * 值加载后经过多久开始在后台刷新
+     */
+    private final long refreshAfterNanos;
+
+    /**
+     * 过期后仍可使用旧值的最大时长（从加载时刻算起的上限）
+     */
+    private final long staleLimitNanos;
+
+    private final Executor executor;
+
+    private volatile Entry<T> entry;
+
+    /**
+     * 最近一次刷新是否失败，失败后在容忍窗口内不再让调用方阻塞等待
+     */
+    private volatile boolean lastLoadFailed;
+
+    /**
+     * 正在进行的加载，保证同一时刻只有一个加载
+     */
+    private final AtomicReference<CompletableFuture<T>> loading = new AtomicReference<>();
+
+    RefreshAheadSupplier(JSupplier<T> loader, long ttlNanos, long refreshAfterNanos, long maxStaleNanos, Executor executor) {
+        this.loader = Objects.requireNonNull(loader);
+        this.executor = Objects.requireNonNull(executor);
+        if (ttlNanos <= 0 || refreshAfterNanos < 0 || refreshAfterNanos > ttlNanos || maxStaleNanos < 0) {
+            throw new IllegalArgumentException("ttl必须大于0，且0 <= refreshAfter <= ttl，maxStale >= 0");
+        }
+        this.ttlNanos = ttlNanos;
+        this.refreshAfterNanos = refreshAfterNanos;
+        this.staleLimitNanos = ttlNanos + maxStaleNanos < 0 ? Long.MAX_VALUE : ttlNanos + maxStaleNanos;
+    }
+
+    /**
+     * 返回缓存值，必要时触发刷新
+     *
+     * @return 返回值
+     * @throws Exception 首次加载失败、或值已超过容忍窗口且重新加载失败时，抛出加载函数的原始异常
+     */
+    @Override
+    public T get() throws Exception {
+        Entry<T> current = entry;
+        if (current == null) {
+            return ExceptionUtils.await(load(false));
+        }
+        long age = System.nanoTime() - current.loadedAt;
+        if (age < refreshAfterNanos) {
+            return current.value;
+        }
+        if (age < ttlNanos) {
+            load(true);
+            return current.value;
+        }
+        if (age < staleLimitNanos && lastLoadFailed) {
+            load(true);
+            return current.value;
+        }
+        try {
+            return ExceptionUtils.await(load(false));
+        }
+        catch (InterruptedException e) {
+            throw e;
+        }
+        catch (Exception e) {
+            if (System.nanoTime() - current.loadedAt < staleLimitNanos) {
+                return current.value;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 在后台触发一次刷新，已有刷新进行中时不会重复触发
+     */
+    public void refresh() {
+        load(true);
+    }
+
+    /**
+     * 丢弃缓存值，下一次get()会重新加载
+     */
+    public void invalidate() {
+        entry = null;
+    }
+
+    /**
+     * 开始一次加载，若已有加载进行中则返回该加载
+     *
+     * @param async true则在executor中加载，false则在当前线程加载
+     * @return 加载结果
+     */
+    private CompletableFuture<T> load(boolean async) {
+        for (;;) {
+            CompletableFuture<T> inFlight = loading.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+            CompletableFuture<T> mine = new CompletableFuture<>();
+            if (!loading.compareAndSet(null, mine)) {
+                continue;
+            }
+            if (!async) {
+                doLoad(mine);
+                return mine;
+            }
+            try {
+                executor.execute(() -> doLoad(mine));
+            }
+            catch (Throwable e) {
+                finish(mine, null, e);
+            }
+            return mine;
+        }
+    }
+
+    private void doLoad(CompletableFuture<T> future) {
+        T value;
+        try {
+            value = loader.get();
+        }
+        catch (Throwable e) {
+            finish(future, null, e);
+            return;
+        }
+        entry = new Entry<>(value, System.nanoTime());
+        finish(future, value, null);
+    }
+
+    private void finish(CompletableFuture<T> future, T value, Throwable failure) {
+        lastLoadFailed = failure != null;
+        loading.compareAndSet(future, null);
+        if (failure == null) {
+            future.complete(value);
+        }
+        else {
+            future.completeExceptionally(failure);
+        }
+    }
+
+    private static final class Entry<T> {
+
+        final T value;
+
+        final long loadedAt;
+
+        Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.jazng.extension.functional;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author JJ_yo
+ * 一组任务全部结束后的结果
+ * 按任务的位置保存每个任务的结果或异常，所有失败的任务都可以拿到，而不是只有第一个异常
+ * 2026-10-19 15:00
+ * @version: 1.0
+ */
+public final class SettledResult<T> {
+
+    private final Object[] values;
+
+    private final Throwable[] failures;
+
+    private final int failureCount;
+
+    private boolean suppressedAdded;
+
+    SettledResult(Object[] values, Throwable[] failures) {
+        this.values = values;
+        this.failures = failures;
+        int count = 0;
+        for (Throwable failure : failures) {
+            if (failure != null) {
+                count++;
+            }
+        }
+        this.failureCount = count;
+    }
+
+    /**
+     * 任务数量
+     *
+     * @return 返回值
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * 失败的任务数量
+     *
+     * @return 返回值
+     */
+    public int failureCount() {
+        return failureCount;
+    }
+
+    /**
+     * 是否全部成功
+     *
+     * @return 返回值
+     */
+    public boolean allSucceeded() {
+        return failureCount == 0;
+    }
+
+    /**
+     * 第index个任务是否成功
+     *
+     * @param index 任务位置
+     * @return 返回值
+     */
+    public boolean isSuccess(int index) {
+        return failures[index] == null;
+    }
+
+    /**
+     * 第index个任务的结果，任务失败时返回null
+     *
+     * @param index 任务位置
+     * @return 返回值
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) values[index];
+    }
+
+    /**
+     * 第index个任务抛出的原始异常，任务成功时返回null
+     *
+     * @param index 任务位置
+     * @return 返回值
+     */
+    public Throwable getFailure(int index) {
+        return failures[index];
+    }
+
+    /**
+     * 按位置排列的结果，失败的位置为null
+     *
+     * @return 返回值
+     */
+    public List<T> values() {
+        return new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                return SettledResult.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    /**
+     * 所有失败任务的位置及其原始异常，按位置排序
+     *
+     * @return 返回值
+     */
+    public Map<Integer, Throwable> failures() {
+        if (failureCount == 0) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, Throwable> result = new LinkedHashMap<>(failureCount * 2);
+        for (int i = 0; i < failures.length; i++) {
+            if (failures[i] != null) {
+                result.put(i, failures[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 存在失败的任务时抛出第一个失败任务的原始异常，其余失败任务的异常作为suppressed附加在上面
+     *
+     * @throws Exception 第一个失败任务的原始异常
+     */
+    public synchronized void throwIfAnyFailed() throws Exception {
+        Throwable first = null;
+        for (Throwable failure : failures) {
+            if (failure == null) {
+                continue;
+            }
+            if (first == null) {
+                first = failure;
+            }
+            else if (failure != first && !suppressedAdded) {
+                first.addSuppressed(failure);
+            }
+        }
+        if (first != null) {
+            suppressedAdded = true;
+            throw ExceptionUtils.rethrow(first);
+        }
+    }
+}
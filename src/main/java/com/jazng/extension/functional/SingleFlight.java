@@ -0,0 +1,155 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * @author JJ_yo
+ * 请求合并（single-flight）
+ * 同一个key的并发调用只执行一次，所有调用方共享这一次执行的结果或异常；执行结束后key即被移除，不做缓存。
+ * 每个key各自独立，不存在全局锁
+ * 2026-10-19 10:30
+ * @version: 1.0
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 执行key对应的调用，若同一个key已有调用在执行，则等待并共享其结果
+     *
+     * @param key       key，不能为null
+     * @param jSupplier 自定义函数式接口
+     * @return 返回值
+     * @throws Exception jSupplier抛出的原始异常
+     */
+    public V execute(K key, JSupplier<? extends V> jSupplier) throws Exception {
+        Objects.requireNonNull(key);
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing != null) {
+            return ExceptionUtils.await(existing);
+        }
+        CompletableFuture<V> call = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return ExceptionUtils.await(existing);
+        }
+        run(key, call, jSupplier);
+        return ExceptionUtils.await(call);
+    }
+
+    /**
+     * 异步执行key对应的调用，若同一个key已有调用在执行，则共享其结果；
+     * 每个调用方得到各自的CompletableFuture，对其complete()/cancel()不会影响其它调用方
+     *
+     * @param key       key，不能为null
+     * @param jSupplier 自定义函数式接口
+     * @param executor  线程池
+     * @return 返回值，异常完成时的原因为jSupplier抛出的原始异常
+     */
+    public CompletableFuture<V> executeAsync(K key, JSupplier<? extends V> jSupplier, Executor executor) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(executor);
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing != null) {
+            return FutureUtils.copy(existing);
+        }
+        CompletableFuture<V> call = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return FutureUtils.copy(existing);
+        }
+        try {
+            executor.execute(() -> run(key, call, jSupplier));
+        }
+        catch (Throwable e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+        }
+        return FutureUtils.copy(call);
+    }
+
+    /**
+     * 当前正在执行的key的数量
+     *
+     * @return 返回值
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private void run(K key, CompletableFuture<V> call, JSupplier<? extends V> jSupplier) {
+        V value;
+        try {
+            value = jSupplier.get();
+        }
+        catch (Throwable e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            return;
+        }
+        inFlight.remove(key, call);
+        call.complete(value);
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 对JFunction进行封装，参数相等的并发调用只执行一次
+     *
+     * @param jFunction 自定义函数式接口
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 返回值
+     */
+    public static <T, R> JFunction<T, R> of(JFunction<T, R> jFunction) {
+        Objects.requireNonNull(jFunction);
+        SingleFlight<T, R> flight = new SingleFlight<>();
+        return t -> flight.execute(t, () -> jFunction.apply(t));
+    }
+
+    /**
+     * 对JFunction进行封装，返回异步版本，参数相等的并发调用共享同一次执行的结果
+     *
+     * @param jFunction 自定义函数式接口
+     * @param executor  线程池
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 返回值
+     */
+    public static <T, R> JFunction<T, CompletableFuture<R>> ofAsync(JFunction<T, R> jFunction, Executor executor) {
+        Objects.requireNonNull(jFunction);
+        SingleFlight<T, R> flight = new SingleFlight<>();
+        return t -> flight.executeAsync(t, () -> jFunction.apply(t), executor);
+    }
+
+    /**
+     * 对JSupplier进行封装，并发调用只执行一次
+     *
+     * @param jSupplier 自定义函数式接口
+     * @param <T>       泛型
+     * @return 返回值
+     */
+    public static <T> JSupplier<T> of(JSupplier<T> jSupplier) {
+        Objects.requireNonNull(jSupplier);
+        SingleFlight<Boolean, T> flight = new SingleFlight<>();
+        return () -> flight.execute(Boolean.TRUE, jSupplier);
+    }
+
+    /**
+     * 对JSupplier进行封装，返回异步版本，并发调用共享同一次执行的结果
+     *
+     * @param jSupplier 自定义函数式接口
+     * @param executor  线程池
+     * @param <T>       泛型
+     * @return 返回值
+     */
+    public static <T> JSupplier<CompletableFuture<T>> ofAsync(JSupplier<T> jSupplier, Executor executor) {
+        Objects.requireNonNull(jSupplier);
+        SingleFlight<Boolean, T> flight = new SingleFlight<>();
+        return () -> flight.executeAsync(Boolean.TRUE, jSupplier, executor);
+    }
+}
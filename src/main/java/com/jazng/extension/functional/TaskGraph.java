@@ -0,0 +1,506 @@
+package com.jazng.extension.functional;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * @author JJ_yo
+ * 有依赖关系的计算图
+ * 声明每个节点及其依赖的节点，执行时相互独立的节点并行计算，节点的输入全部就绪后立即开始；
+ * 节点失败时只有直接或间接依赖它的节点不再计算（状态为UPSTREAM_FAILED，异常为上游的原始异常），其它节点照常计算；
+ * 只计算目标节点及其依赖的节点，其余节点的状态为SKIPPED。
+ * 节点只能依赖已经声明的节点，因此不会出现环；图声明完成后可以在多个线程中同时执行
+ * 例：
+ * TaskGraph graph = new TaskGraph();
+ * TaskGraph.Node&lt;Long&gt; id = graph.input("id");
+ * TaskGraph.Node&lt;User&gt; user = graph.node("user", id, userDao::findById);
+ * TaskGraph.Node&lt;List&lt;Order&gt;&gt; orders = graph.node("orders", id, orderDao::findByUserId);
+ * TaskGraph.Node&lt;Detail&gt; detail = graph.node("detail", user, orders, Detail::new);
+ * Detail result = graph.run(Collections.singletonMap(id, 1L), executor, detail).get(detail);
+ * 2026-10-19 18:10
+ * @version: 1.0
+ */
+public final class TaskGraph {
+
+    /**
+     * 节点状态
+     */
+    public enum State {
+        /**
+         * 成功
+         */
+        SUCCESS,
+        /**
+         * 节点自身的函数抛出了异常
+         */
+        FAILED,
+        /**
+         * 依赖的节点失败，未计算
+         */
+        UPSTREAM_FAILED,
+        /**
+         * 不是目标节点所依赖的节点，未计算
+         */
+        SKIPPED
+    }
+
+    private final List<Node<?>> nodes = new ArrayList<>();
+
+    /****************************************************************************************************/
+
+    /**
+     * 声明输入节点，值在执行时通过inputs传入
+     *
+     * @param name 节点名称
+     * @param <T>  泛型
+     * @return 返回值
+     */
+    public <T> Node<T> input(String name) {
+        return add(name, null);
+    }
+
+    /**
+     * 声明没有依赖的节点
+     *
+     * @param name      节点名称
+     * @param jSupplier 自定义函数式接口
+     * @param <T>       泛型
+     * @return 返回值
+     */
+    public <T> Node<T> node(String name, JSupplier<? extends T> jSupplier) {
+        Objects.requireNonNull(jSupplier);
+        return add(name, inputs -> jSupplier.get());
+    }
+
+    /**
+     * 声明依赖一个节点的节点
+     *
+     * @param name      节点名称
+     * @param a         依赖的节点
+     * @param jFunction 自定义函数式接口
+     * @param <A>       泛型
+     * @param <T>       泛型
+     * @return 返回值
+     */
+    public <A, T> Node<T> node(String name, Node<A> a, JFunction<? super A, ? extends T> jFunction) {
+        Objects.requireNonNull(jFunction);
+        return add(name, inputs -> jFunction.apply(inputs.get(a)), a);
+    }
+
+    /**
+     * 声明依赖两个节点的节点
+     *
+     * @param name        节点名称
+     * @param a           依赖的节点
+     * @param b           依赖的节点
+     * @param jBiFunction 自定义函数式接口
+     * @param <A>         泛型
+     * @param <B>         泛型
+     * @param <T>         泛型
+     * @return 返回值
+     */
+    public <A, B, T> Node<T> node(String name, Node<A> a, Node<B> b, JBiFunction<? super A, ? super B, ? extends T> jBiFunction) {
+        Objects.requireNonNull(jBiFunction);
+        return add(name, inputs -> jBiFunction.apply(inputs.get(a), inputs.get(b)), a, b);
+    }
+
+    /**
+     * 声明依赖任意多个节点的节点，jFunction通过Inputs.get()取得依赖节点的值
+     *
+     * @param name         节点名称
+     * @param jFunction    自定义函数式接口
+     * @param dependencies 依赖的节点
+     * @param <T>          泛型
+     * @return 返回值
+     */
+    public <T> Node<T> node(String name, JFunction<? super Inputs, ? extends T> jFunction, Node<?>... dependencies) {
+        Objects.requireNonNull(jFunction);
+        return add(name, jFunction, dependencies);
+    }
+
+    /**
+     * 执行图，等待目标节点及其依赖的节点全部结束
+     *
+     * @param inputs   输入节点的值
+     * @param executor 线程池
+     * @param targets  目标节点，为空时计算所有节点
+     * @return 返回值
+     * @throws InterruptedException 等待时被中断
+     */
+    public Result run(Map<? extends Node<?>, ?> inputs, Executor executor, Node<?>... targets) throws InterruptedException {
+        try {
+            return runAsync(inputs, executor, targets).get();
+        }
+        catch (ExecutionException e) {
+            // 节点的异常保存在Result中，不会走到这里
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 异步执行图，目标节点及其依赖的节点全部结束后完成；节点失败不会使返回值异常完成，通过Result获取每个节点的结果或异常
+     *
+     * @param inputs   输入节点的值
+     * @param executor 线程池
+     * @param targets  目标节点，为空时计算所有节点
+     * @return 返回值
+     */
+    public CompletableFuture<Result> runAsync(Map<? extends Node<?>, ?> inputs, Executor executor, Node<?>... targets) {
+        Objects.requireNonNull(inputs);
+        Objects.requireNonNull(executor);
+        Node<?>[] snapshot = nodes.toArray(new Node<?>[0]);
+        for (Node<?> target : targets) {
+            check(target);
+        }
+        Execution execution = new Execution(snapshot, inputs, executor, targets);
+        execution.start();
+        return execution.future;
+    }
+
+    /****************************************************************************************************/
+
+    private <T> Node<T> add(String name, JFunction<? super Inputs, ?> compute, Node<?>... dependencies) {
+        Objects.requireNonNull(name);
+        int[] indexes = new int[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            indexes[i] = check(dependencies[i]).index;
+        }
+        Node<T> node = new Node<>(this, nodes.size(), name, compute, indexes);
+        nodes.add(node);
+        return node;
+    }
+
+    private Node<?> check(Node<?> node) {
+        if (Objects.requireNonNull(node).graph != this) {
+            throw new IllegalArgumentException(node + "不属于这个TaskGraph");
+        }
+        return node;
+    }
+
+    /**
+     * 一次执行的状态：每个节点记录尚未完成的依赖数，依赖全部完成时开始计算；节点的值和异常在计数递减之前写入，
+     * 计数递减保证了依赖节点的值对后续节点可见
+     */
+    private static final class Execution {
+
+        final Node<?>[] nodes;
+
+        final Map<? extends Node<?>, ?> inputs;
+
+        final Executor executor;
+
+        final Object[] values;
+
+        final Throwable[] failures;
+
+        final State[] states;
+
+        final int[][] dependents;
+
+        final AtomicIntegerArray remaining;
+
+        final AtomicInteger pending;
+
+        final CompletableFuture<Result> future = new CompletableFuture<>();
+
+        Execution(Node<?>[] nodes, Map<? extends Node<?>, ?> inputs, Executor executor, Node<?>[] targets) {
+            this.nodes = nodes;
+            this.inputs = inputs;
+            this.executor = executor;
+            int size = nodes.length;
+            this.values = new Object[size];
+            this.failures = new Throwable[size];
+            this.states = new State[size];
+            boolean[] needed = new boolean[size];
+            if (targets.length == 0) {
+                Arrays.fill(needed, true);
+            }
+            else {
+                for (Node<?> target : targets) {
+                    needed[target.index] = true;
+                }
+                // 依赖的节点总是先声明，倒序扫描一遍即可标记所有间接依赖
+                for (int i = size - 1; i >= 0; i--) {
+                    if (needed[i]) {
+                        for (int dependency : nodes[i].dependencies) {
+                            needed[dependency] = true;
+                        }
+                    }
+                }
+            }
+            int[] dependentCount = new int[size];
+            int neededCount = 0;
+            this.remaining = new AtomicIntegerArray(size);
+            for (int i = 0; i < size; i++) {
+                if (!needed[i]) {
+                    states[i] = State.SKIPPED;
+                    continue;
+                }
+                neededCount++;
+                remaining.set(i, nodes[i].dependencies.length);
+                for (int dependency : nodes[i].dependencies) {
+                    dependentCount[dependency]++;
+                }
+            }
+            this.dependents = new int[size][];
+            for (int i = 0; i < size; i++) {
+                dependents[i] = new int[dependentCount[i]];
+                dependentCount[i] = 0;
+            }
+            for (int i = 0; i < size; i++) {
+                if (needed[i]) {
+                    for (int dependency : nodes[i].dependencies) {
+                        dependents[dependency][dependentCount[dependency]++] = i;
+                    }
+                }
+            }
+            this.pending = new AtomicInteger(neededCount);
+        }
+
+        void start() {
+            if (pending.get() == 0) {
+                future.complete(new Result(this));
+                return;
+            }
+            for (int i = 0; i < nodes.length; i++) {
+                if (states[i] != State.SKIPPED && nodes[i].dependencies.length == 0 && startNode(i)) {
+                    finish(i);
+                }
+            }
+        }
+
+        /**
+         * 依赖全部完成后开始节点；节点在当前线程直接结束（输入节点、上游失败、线程池拒绝）时返回true
+         */
+        boolean startNode(int index) {
+            Node<?> node = nodes[index];
+            for (int dependency : node.dependencies) {
+                if (failures[dependency] != null) {
+                    failures[index] = failures[dependency];
+                    states[index] = State.UPSTREAM_FAILED;
+                    return true;
+                }
+            }
+            if (node.compute == null) {
+                if (inputs.containsKey(node)) {
+                    values[index] = inputs.get(node);
+                    states[index] = State.SUCCESS;
+                }
+                else {
+                    failures[index] = new IllegalArgumentException("输入节点" + node + "没有传入值");
+                    states[index] = State.FAILED;
+                }
+                return true;
+            }
+            try {
+                executor.execute(() -> {
+                    compute(index);
+                    finish(index);
+                });
+                return false;
+            }
+            catch (RuntimeException e) {
+                failures[index] = e;
+                states[index] = State.FAILED;
+                return true;
+            }
+        }
+
+        void compute(int index) {
+            Node<?> node = nodes[index];
+            try {
+                values[index] = node.compute.apply(new Inputs(node, values));
+                states[index] = State.SUCCESS;
+            }
+            catch (Throwable e) {
+                failures[index] = e;
+                states[index] = State.FAILED;
+            }
+        }
+
+        /**
+         * 节点结束后递减依赖它的节点的计数；在当前线程直接结束的后续节点放入队列继续处理，避免递归
+         */
+        void finish(int index) {
+            ArrayDeque<Integer> finished = new ArrayDeque<>();
+            finished.add(index);
+            Integer current;
+            while ((current = finished.poll()) != null) {
+                for (int dependent : dependents[current]) {
+                    if (remaining.decrementAndGet(dependent) == 0 && startNode(dependent)) {
+                        finished.add(dependent);
+                    }
+                }
+                if (pending.decrementAndGet() == 0) {
+                    future.complete(new Result(this));
+                }
+            }
+        }
+    }
+
+    /**
+     * 节点
+     */
+    public static final class Node<T> {
+
+        private final TaskGraph graph;
+
+        private final int index;
+
+        private final String name;
+
+        private final JFunction<? super Inputs, ?> compute;
+
+        private final int[] dependencies;
+
+        private Node(TaskGraph graph, int index, String name, JFunction<? super Inputs, ?> compute, int[] dependencies) {
+            this.graph = graph;
+            this.index = index;
+            this.name = name;
+            this.compute = compute;
+            this.dependencies = dependencies;
+        }
+
+        /**
+         * 节点名称
+         *
+         * @return 返回值
+         */
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * 节点计算时可以访问的依赖节点的值
+     */
+    public static final class Inputs {
+
+        private final Node<?> node;
+
+        private final Object[] values;
+
+        private Inputs(Node<?> node, Object[] values) {
+            this.node = node;
+            this.values = values;
+        }
+
+        /**
+         * 依赖节点的值，只能访问声明过的依赖
+         *
+         * @param dependency 依赖的节点
+         * @param <A>        泛型
+         * @return 返回值
+         */
+        @SuppressWarnings("unchecked")
+        public <A> A get(Node<A> dependency) {
+            for (int index : node.dependencies) {
+                if (index == dependency.index && dependency.graph == node.graph) {
+                    return (A) values[index];
+                }
+            }
+            throw new IllegalArgumentException(dependency + "不是" + node + "的依赖");
+        }
+    }
+
+    /**
+     * 一次执行的结果
+     */
+    public static final class Result {
+
+        private final Node<?>[] nodes;
+
+        private final Object[] values;
+
+        private final Throwable[] failures;
+
+        private final State[] states;
+
+        private Result(Execution execution) {
+            this.nodes = execution.nodes;
+            this.values = execution.values;
+            this.failures = execution.failures;
+            this.states = execution.states;
+        }
+
+        /**
+         * 节点状态
+         *
+         * @param node 节点
+         * @return 返回值
+         */
+        public State state(Node<?> node) {
+            return states[index(node)];
+        }
+
+        /**
+         * 节点的值
+         *
+         * @param node 节点
+         * @param <T>  泛型
+         * @return 返回值
+         * @throws Exception 节点或其上游节点抛出的原始异常；节点被跳过时抛出IllegalStateException
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T get(Node<T> node) throws Exception {
+            int index = index(node);
+            switch (states[index]) {
+                case SUCCESS:
+                    return (T) values[index];
+                case SKIPPED:
+                    throw new IllegalStateException(node + "未计算");
+                default:
+                    throw ExceptionUtils.rethrow(failures[index]);
+            }
+        }
+
+        /**
+         * 节点或其上游节点抛出的原始异常，成功或被跳过时返回null
+         *
+         * @param node 节点
+         * @return 返回值
+         */
+        public Throwable failure(Node<?> node) {
+            return failures[index(node)];
+        }
+
+        /**
+         * 自身抛出异常的节点及其原始异常，按声明顺序排列
+         *
+         * @return 返回值
+         */
+        public Map<Node<?>, Throwable> failures() {
+            Map<Node<?>, Throwable> result = new LinkedHashMap<>();
+            for (int i = 0; i < nodes.length; i++) {
+                if (states[i] == State.FAILED) {
+                    result.put(nodes[i], failures[i]);
+                }
+            }
+            return result.isEmpty() ? Collections.emptyMap() : result;
+        }
+
+        private int index(Node<?> node) {
+            int index = node.index;
+            if (index >= nodes.length || nodes[index] != node) {
+                throw new IllegalArgumentException(node + "不属于这次执行");
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,629 @@
+package com.jazng.extension.functional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author JJ_yo
+ * 结构化并发作用域
+ * 在作用域内fork()一组相关的子任务，join()按策略等待：
+ * ALL_SUCCESSFUL —— 全部成功，任一子任务失败时立即取消其余子任务；
+ * ANY_SUCCESSFUL —— 任一成功即可，第一个子任务成功时立即取消其余子任务；
+ * COLLECT_ALL —— 等待全部子任务结束，收集每个子任务的结果或异常。
+ * 取消通过中断执行子任务的线程实现；close()取消仍在执行的子任务并等待它们的线程退出，子任务不会泄漏到作用域之外。
+ * 子任务抛出的异常原样保留，不会被包装。
+ * 不指定线程池时，JDK 21及以上每个子任务一个虚拟线程，低版本JDK使用普通线程池，参考ExecutorUtils.newVirtualThreadExecutor()
+ * 例：
+ * try (TaskScope&lt;Object&gt; scope = TaskScope.allSuccessful()) {
+ *     TaskScope.Subtask&lt;User&gt; user = scope.fork(() -&gt; findUser(id));
+ *     TaskScope.Subtask&lt;Order&gt; order = scope.fork(() -&gt; findOrder(id));
+ *     scope.join().throwIfFailed();
+ *     return new Detail(user.get(), order.get());
+ * }
+ * 2026-10-19 16:00
+ * @version: 1.0
+ */
+public final class TaskScope<T> implements AutoCloseable {
+
+    /**
+     * join()的等待策略
+     */
+    public enum Policy {
+        /**
+         * 全部成功，任一失败即取消其余子任务
+         */
+        ALL_SUCCESSFUL,
+        /**
+         * 任一成功，第一个成功即取消其余子任务
+         */
+        ANY_SUCCESSFUL,
+        /**
+         * 等待全部子任务结束
+         */
+        COLLECT_ALL
+    }
+
+    private final Policy policy;
+
+    private final Executor executor;
+
+    /**
+     * 作用域自己创建的线程池，close()时关闭
+     */
+    private final ExecutorService ownedExecutor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 所有子任务都已结束（成功、失败或取消）
+     */
+    private final Condition settled = lock.newCondition();
+
+    /**
+     * 所有执行子任务的线程都已退出
+     */
+    private final Condition exited = lock.newCondition();
+
+    private final List<Subtask<? extends T>> subtasks = new ArrayList<>();
+
+    private int pending;
+
+    private int running;
+
+    private boolean shutdown;
+
+    private boolean joined;
+
+    private boolean closed;
+
+    private Subtask<? extends T> firstSuccess;
+
+    private Throwable firstFailure;
+
+    private TaskScope(Policy policy, Executor executor, ExecutorService ownedExecutor) {
+        this.policy = Objects.requireNonNull(policy);
+        this.executor = Objects.requireNonNull(executor);
+        this.ownedExecutor = ownedExecutor;
+    }
+
+    /**
+     * 按策略创建作用域，子任务在虚拟线程（低版本JDK为普通线程池）上执行
+     *
+     * @param policy 策略
+     * @param <T>    泛型
+     * @return 返回值
+     */
+    public static <T> TaskScope<T> open(Policy policy) {
+        ExecutorService executor = ExecutorUtils.newVirtualThreadExecutor();
+        return new TaskScope<>(policy, executor, executor);
+    }
+
+    /**
+     * 按策略创建作用域，子任务在executor上执行；executor需要能执行所有fork的子任务，作用域不会关闭executor
+     *
+     * @param policy   策略
+     * @param executor 线程池
+     * @param <T>      泛型
+     * @return 返回值
+     */
+    public static <T> TaskScope<T> open(Policy policy, Executor executor) {
+        return new TaskScope<>(policy, executor, null);
+    }
+
+    /**
+     * 全部成功，任一失败即取消其余子任务
+     *
+     * @param <T> 泛型
+     * @return 返回值
+     */
+    public static <T> TaskScope<T> allSuccessful() {
+        return open(Policy.ALL_SUCCESSFUL);
+    }
+
+    /**
+     * 全部成功，任一失败即取消其余子任务
+     *
+     * @param executor 线程池
+     * @param <T>      泛型
+     * @return 返回值
+     */
+    public static <T> TaskScope<T> allSuccessful(Executor executor) {
+        return open(Policy.ALL_SUCCESSFUL, executor);
+    }
+
+    /**
+     * 任一成功，第一个成功即取消其余子任务
+     *
+     * @param <T> 泛型
+     * @return 返回值
+     */
+    public static <T> TaskScope<T> anySuccessful() {
+        return open(Policy.ANY_SUCCESSFUL);
+    }
+
+    /**
+     * 任一成功，第一个成功即取消其余子任务
+     *
+     * @param executor 线程池
+     * @param <T>      泛型
+     * @return 返回值
+     */
+    public static <T> TaskScope<T> anySuccessful(Executor executor) {
+        return open(Policy.ANY_SUCCESSFUL, executor);
+    }
+
+    /**
+     * 等待全部子任务结束，收集每个子任务的结果或异常
+     *
+     * @param <T> 泛型
+     * @return 返回值
+     */
+    public static <T> TaskScope<T> collectAll() {
+        return open(Policy.COLLECT_ALL);
+    }
+
+    /**
+     * 等待全部子任务结束，收集每个子任务的结果或异常
+     *
+     * @param executor 线程池
+     * @param <T>      泛型
+     * @return 返回值
+     */
+    public static <T> TaskScope<T> collectAll(Executor executor) {
+        return open(Policy.COLLECT_ALL, executor);
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 开启子任务；作用域已被shutdown()时，子任务直接处于取消状态，不会执行
+     *
+     * @param jSupplier 自定义函数式接口
+     * @param <U>       泛型
+     * @return 返回值
+     */
+    public <U extends T> Subtask<U> fork(JSupplier<? extends U> jSupplier) {
+        Objects.requireNonNull(jSupplier);
+        Subtask<U> subtask = new Subtask<>(this, jSupplier::get);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("TaskScope已关闭");
+            }
+            subtasks.add(subtask);
+            pending++;
+            joined = false;
+            if (shutdown) {
+                subtask.task.cancel(false);
+                return subtask;
+            }
+            running++;
+        }
+        finally {
+            lock.unlock();
+        }
+        try {
+            executor.execute(subtask::run);
+        }
+        catch (RejectedExecutionException e) {
+            subtask.task.reject(e);
+            exit();
+        }
+        return subtask;
+    }
+
+    /**
+     * 开启子任务，在子线程中执行jFunction.apply(input)
+     *
+     * @param jFunction 自定义函数式接口
+     * @param input     参数
+     * @param <A>       泛型
+     * @param <U>       泛型
+     * @return 返回值
+     */
+    public <A, U extends T> Subtask<U> fork(JFunction<? super A, ? extends U> jFunction, A input) {
+        Objects.requireNonNull(jFunction);
+        return fork(() -> jFunction.apply(input));
+    }
+
+    /**
+     * 等待所有子任务结束；按策略提前结束时，其余子任务已被取消
+     *
+     * @return 返回值
+     * @throws InterruptedException 等待时被中断
+     */
+    public TaskScope<T> join() throws InterruptedException {
+        lock.lock();
+        try {
+            checkOpen();
+            while (pending > 0) {
+                settled.await();
+            }
+            joined = true;
+            return this;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 等待所有子任务结束，超时后取消仍未结束的子任务
+     *
+     * @param timeout 超时时间
+     * @param unit    时间单位
+     * @return 返回值
+     * @throws InterruptedException 等待时被中断
+     * @throws TimeoutException     超时
+     */
+    public TaskScope<T> join(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            checkOpen();
+            while (pending > 0) {
+                if (nanos <= 0L) {
+                    shutdownLocked();
+                    joined = true;
+                    throw new TimeoutException();
+                }
+                nanos = settled.awaitNanos(nanos);
+            }
+            joined = true;
+            return this;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 取消所有未结束的子任务，之后fork的子任务不会执行
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdownLocked();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 存在失败的子任务时，抛出最先失败的子任务的原始异常
+     *
+     * @throws Exception 子任务的原始异常
+     */
+    public void throwIfFailed() throws Exception {
+        lock.lock();
+        try {
+            checkJoined();
+            if (firstFailure != null) {
+                throw ExceptionUtils.rethrow(firstFailure);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 按fork顺序返回所有子任务的结果，适用于ALL_SUCCESSFUL
+     *
+     * @return 返回值
+     * @throws Exception 最先失败的子任务的原始异常；存在被取消的子任务时抛出CancellationException
+     */
+    public List<T> values() throws Exception {
+        throwIfFailed();
+        lock.lock();
+        try {
+            List<T> values = new ArrayList<>(subtasks.size());
+            for (Subtask<? extends T> subtask : subtasks) {
+                if (subtask.state() != Subtask.State.SUCCESS) {
+                    throw new CancellationException("存在被取消的子任务");
+                }
+                values.add(subtask.get());
+            }
+            return Collections.unmodifiableList(values);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 第一个成功的子任务的结果，适用于ANY_SUCCESSFUL
+     *
+     * @return 返回值
+     * @throws Exception 没有成功的子任务时，抛出最先失败的子任务的原始异常
+     */
+    public T result() throws Exception {
+        lock.lock();
+        try {
+            checkJoined();
+            if (firstSuccess != null) {
+                return firstSuccess.get();
+            }
+            if (firstFailure != null) {
+                throw ExceptionUtils.rethrow(firstFailure);
+            }
+            throw new IllegalStateException("没有成功的子任务");
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 按fork顺序返回每个子任务的结果或原始异常，适用于COLLECT_ALL；被取消的子任务的异常为CancellationException
+     *
+     * @return 返回值
+     */
+    public SettledResult<T> settled() {
+        lock.lock();
+        try {
+            checkJoined();
+            int size = subtasks.size();
+            Object[] values = new Object[size];
+            Throwable[] failures = new Throwable[size];
+            for (int i = 0; i < size; i++) {
+                Subtask<? extends T> subtask = subtasks.get(i);
+                switch (subtask.state()) {
+                    case SUCCESS:
+                        values[i] = subtask.get();
+                        break;
+                    case FAILED:
+                        failures[i] = subtask.exception();
+                        break;
+                    default:
+                        failures[i] = new CancellationException();
+                }
+            }
+            return new SettledResult<>(values, failures);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 取消仍在执行的子任务，并等待执行子任务的线程全部退出；等待期间的中断会在返回前重新设置
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            shutdownLocked();
+            boolean interrupted = false;
+            while (running > 0) {
+                try {
+                    exited.await();
+                }
+                catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /****************************************************************************************************/
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("TaskScope已关闭");
+        }
+    }
+
+    private void checkJoined() {
+        if (!joined) {
+            throw new IllegalStateException("需要先调用join()");
+        }
+    }
+
+    private void shutdownLocked() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        // cancel()会在当前线程回调onDone()，ReentrantLock可重入
+        for (Subtask<? extends T> subtask : subtasks) {
+            subtask.task.cancel(true);
+        }
+    }
+
+    private void onDone(Subtask<? extends T> subtask) {
+        lock.lock();
+        try {
+            Subtask.State state = subtask.state();
+            if (state == Subtask.State.SUCCESS) {
+                if (policy == Policy.ANY_SUCCESSFUL && firstSuccess == null) {
+                    firstSuccess = subtask;
+                    shutdownLocked();
+                }
+            }
+            else if (state == Subtask.State.FAILED) {
+                if (firstFailure == null) {
+                    firstFailure = subtask.exception();
+                }
+                if (policy == Policy.ALL_SUCCESSFUL) {
+                    shutdownLocked();
+                }
+            }
+            if (--pending == 0) {
+                settled.signalAll();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void exit() {
+        lock.lock();
+        try {
+            if (--running == 0) {
+                exited.signalAll();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 子任务
+     */
+    public static final class Subtask<U> {
+
+        /**
+         * 子任务状态
+         */
+        public enum State {
+            /**
+             * 未结束
+             */
+            RUNNING,
+            /**
+             * 成功
+             */
+            SUCCESS,
+            /**
+             * 失败
+             */
+            FAILED,
+            /**
+             * 已取消
+             */
+            CANCELLED
+        }
+
+        private final TaskScope<?> scope;
+
+        private final Task task;
+
+        private Subtask(TaskScope<?> scope, Callable<U> callable) {
+            this.scope = scope;
+            this.task = new Task(callable);
+        }
+
+        /**
+         * 子任务状态
+         *
+         * @return 返回值
+         */
+        public State state() {
+            if (!task.isDone()) {
+                return State.RUNNING;
+            }
+            if (task.isCancelled()) {
+                return State.CANCELLED;
+            }
+            try {
+                task.get();
+                return State.SUCCESS;
+            }
+            catch (ExecutionException e) {
+                return State.FAILED;
+            }
+            catch (InterruptedException | CancellationException e) {
+                return State.CANCELLED;
+            }
+        }
+
+        /**
+         * 子任务的结果，子任务未成功时抛出IllegalStateException
+         *
+         * @return 返回值
+         */
+        public U get() {
+            if (state() != State.SUCCESS) {
+                throw new IllegalStateException("子任务未成功：" + state());
+            }
+            return task.value();
+        }
+
+        /**
+         * 子任务抛出的原始异常，子任务未失败时抛出IllegalStateException
+         *
+         * @return 返回值
+         */
+        public Throwable exception() {
+            try {
+                task.get();
+            }
+            catch (ExecutionException e) {
+                return e.getCause();
+            }
+            catch (InterruptedException | CancellationException e) {
+                // 下面抛出IllegalStateException
+            }
+            throw new IllegalStateException("子任务未失败：" + state());
+        }
+
+        private void run() {
+            try {
+                task.run();
+                if (task.isCancelled()) {
+                    // 清除取消时发出的中断，避免影响同一线程上的下一个任务
+                    Thread.interrupted();
+                }
+            }
+            finally {
+                scope.exit();
+            }
+        }
+
+        private final class Task extends FutureTask<U> {
+
+            Task(Callable<U> callable) {
+                super(callable);
+            }
+
+            void reject(RejectedExecutionException e) {
+                setException(e);
+            }
+
+            U value() {
+                try {
+                    return get();
+                }
+                catch (InterruptedException | ExecutionException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            protected void done() {
+                ((TaskScope<Object>) scope).onDone(Subtask.this);
+            }
+        }
+    }
+}
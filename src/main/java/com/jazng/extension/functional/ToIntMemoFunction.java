@@ -0,0 +1,224 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * @author JJ_yo
+ * 缓存结果为int的JToIntFunction
+ * 结果以int数组存储，不装箱；使用开放寻址表分段存储，读取走StampedLock的乐观读，线程安全；
+ * 支持无界和有界（key按hash分到16个分段，每段上限为maxEntries/16，某段写满时该段整段清空后重新填充，不做逐条淘汰）两种模式。抛出异常的调用不缓存
+ * 2026-10-19 11:40
+ * @version: 1.0
+ */
+public final class ToIntMemoFunction<T> implements JToIntFunction<T> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private static final int SEGMENT_BITS = 4;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final JToIntFunction<T> jToIntFunction;
+
+    private final Segment[] segments;
+
+    ToIntMemoFunction(JToIntFunction<T> jToIntFunction, int maxEntries) {
+        this.jToIntFunction = Objects.requireNonNull(jToIntFunction);
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries不能小于0");
+        }
+        int perSegment = maxEntries == 0 ? 0 : (int) Math.max(1, ((long) maxEntries + (1 << SEGMENT_BITS) - 1) >>> SEGMENT_BITS);
+        this.segments = new Segment[1 << SEGMENT_BITS];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    @Override
+    public int applyAsInt(T t) throws Exception {
+        Object key = t == null ? NULL_KEY : t;
+        int hash = hash(key);
+        return segments[hash >>> (32 - SEGMENT_BITS)].getOrApply(key, hash, t, jToIntFunction);
+    }
+
+    /**
+     * 当前缓存的结果数量
+     *
+     * @return 返回值
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+
+    /**
+     * 一段开放寻址表，写操作加写锁，读操作先乐观读，校验失败再加读锁
+     */
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+
+        private final int maxSize;
+
+        private Table table;
+
+        private int size;
+
+        Segment(int maxSize) {
+            this.maxSize = maxSize;
+            this.table = new Table(INITIAL_CAPACITY);
+        }
+
+        <T> int getOrApply(Object key, int hash, T t, JToIntFunction<T> jToIntFunction) throws Exception {
+            int index = -1;
+            int value = 0;
+            long stamp = lock.tryOptimisticRead();
+            try {
+                Table current = table;
+                index = current.indexOf(key, hash);
+                if (index >= 0) {
+                    value = current.values[index];
+                }
+            }
+            catch (RuntimeException e) {
+                // 乐观读期间看到的可能是并发写入中的中间状态，校验失败则改为加读锁重试
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    index = table.indexOf(key, hash);
+                    if (index >= 0) {
+                        value = table.values[index];
+                    }
+                }
+                finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            if (index >= 0) {
+                return value;
+            }
+            return putIfAbsent(key, hash, jToIntFunction.applyAsInt(t));
+        }
+
+        int putIfAbsent(Object key, int hash, int value) {
+            long stamp = lock.writeLock();
+            try {
+                int index = table.indexOf(key, hash);
+                if (index >= 0) {
+                    return table.values[index];
+                }
+                if (maxSize > 0 && size >= maxSize) {
+                    // 分段写满后整段丢弃，不做逐条淘汰
+                    table = new Table(INITIAL_CAPACITY);
+                    size = 0;
+                }
+                else if ((long) (size + 1) * 2 > table.keys.length) {
+                    table = table.resize();
+                }
+                table.insert(key, hash, value);
+                size++;
+                return value;
+            }
+            finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(INITIAL_CAPACITY);
+                size = 0;
+            }
+            finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    private static final class Table {
+
+        /**
+         * 为null表示空槽
+         */
+        final Object[] keys;
+
+        final int[] hashes;
+
+        final int[] values;
+
+        Table(int capacity) {
+            this.keys = new Object[capacity];
+            this.hashes = new int[capacity];
+            this.values = new int[capacity];
+        }
+
+        int indexOf(Object key, int hash) {
+            int mask = keys.length - 1;
+            for (int i = hash & mask, n = 0; n <= mask; i = (i + 1) & mask, n++) {
+                Object k = keys[i];
+                if (k == null) {
+                    return -1;
+                }
+                if (hashes[i] == hash && (k == key || k.equals(key))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void insert(Object key, int hash, int value) {
+            int mask = keys.length - 1;
+            int i = hash & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            hashes[i] = hash;
+            values[i] = value;
+            keys[i] = key;
+        }
+
+        Table resize() {
+            Table bigger = new Table(keys.length << 1);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    bigger.insert(keys[i], hashes[i], values[i]);
+                }
+            }
+            return bigger;
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.jazng.extension.functional;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collector;
+
+/**
+ * @author JJ_yo
+ * 取前K个/后K个元素的Collector
+ * JBinaryOperator.minBy()/maxBy()只能归约出一个元素，排序全部元素再取前K个需要O(n log n)的时间和O(n)的内存。
+ * 这里的Collector只保留一个大小为K的堆，堆顶是已保留元素中最差的一个，新元素不比堆顶好时只需一次比较就被丢弃；
+ * 并行时每个分支有自己的堆，合并时把较小的堆加入较大的堆。按long/double分数取前K个时分数保存在原始类型数组中，不装箱，
+ * 每个元素的分数只计算一次。结果从最好到最差排列；Collector为UNORDERED，分数相同的元素保留哪些、以什么顺序排列都不确定
+ * 例：
+ * List&lt;Record&gt; best = records.parallelStream().collect(TopKCollectors.topByDouble(100, Record::score));
+ * 2026-10-19 23:00
+ * @version: 1.0
+ */
+public final class TopKCollectors {
+
+    /**
+     * 堆数组的初始容量上限
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final Collector.Characteristics[] UNORDERED = {Collector.Characteristics.UNORDERED};
+
+    private TopKCollectors() {
+    }
+
+    /**
+     * 按comparator取最大的k个元素，结果从大到小排列
+     *
+     * @param k          数量
+     * @param comparator 比较器
+     * @param <T>        泛型
+     * @return 返回值
+     */
+    public static <T> Collector<T, ?, List<T>> top(int k, Comparator<? super T> comparator) {
+        return byComparator(k, comparator, true);
+    }
+
+    /**
+     * 按comparator取最小的k个元素，结果从小到大排列
+     *
+     * @param k          数量
+     * @param comparator 比较器
+     * @param <T>        泛型
+     * @return 返回值
+     */
+    public static <T> Collector<T, ?, List<T>> bottom(int k, Comparator<? super T> comparator) {
+        return byComparator(k, comparator, false);
+    }
+
+    /**
+     * 按jToLongFunction的分数取最大的k个元素，结果从大到小排列
+     *
+     * @param k               数量
+     * @param jToLongFunction 自定义函数式接口
+     * @param <T>             泛型
+     * @return 返回值
+     */
+    public static <T> Collector<T, ?, List<T>> topByLong(int k, JToLongFunction<? super T> jToLongFunction) {
+        return byLong(k, jToLongFunction, true);
+    }
+
+    /**
+     * 按jToLongFunction的分数取最小的k个元素，结果从小到大排列
+     *
+     * @param k               数量
+     * @param jToLongFunction 自定义函数式接口
+     * @param <T>             泛型
+     * @return 返回值
+     */
+    public static <T> Collector<T, ?, List<T>> bottomByLong(int k, JToLongFunction<? super T> jToLongFunction) {
+        return byLong(k, jToLongFunction, false);
+    }
+
+    /**
+     * 按jToDoubleFunction的分数取最大的k个元素，结果从大到小排列，分数按Double.compare()比较
+     *
+     * @param k                 数量
+     * @param jToDoubleFunction 自定义函数式接口
+     * @param <T>               泛型
+     * @return 返回值
+     */
+    public static <T> Collector<T, ?, List<T>> topByDouble(int k, JToDoubleFunction<? super T> jToDoubleFunction) {
+        return byDouble(k, jToDoubleFunction, true);
+    }
+
+    /**
+     * 按jToDoubleFunction的分数取最小的k个元素，结果从小到大排列，分数按Double.compare()比较
+     *
+     * @param k                 数量
+     * @param jToDoubleFunction 自定义函数式接口
+     * @param <T>               泛型
+     * @return 返回值
+     */
+    public static <T> Collector<T, ?, List<T>> bottomByDouble(int k, JToDoubleFunction<? super T> jToDoubleFunction) {
+        return byDouble(k, jToDoubleFunction, false);
+    }
+
+    /****************************************************************************************************/
+
+    private static <T> Collector<T, ?, List<T>> byComparator(int k, Comparator<? super T> comparator, boolean top) {
+        checkK(k);
+        Objects.requireNonNull(comparator);
+        return Collector.of(() -> new ObjectHeap<T>(k, comparator, top), ObjectHeap::add,
+                (left, right) -> left.size >= right.size ? left.merge(right) : right.merge(left), ObjectHeap::finish, UNORDERED);
+    }
+
+    private static <T> Collector<T, ?, List<T>> byLong(int k, JToLongFunction<? super T> jToLongFunction, boolean top) {
+        checkK(k);
+        Objects.requireNonNull(jToLongFunction);
+        return Collector.of(() -> new LongHeap<T>(k, top), (heap, t) -> {
+            try {
+                heap.add(t, jToLongFunction.applyAsLong(t));
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }, (left, right) -> left.size >= right.size ? left.merge(right) : right.merge(left), LongHeap::finish, UNORDERED);
+    }
+
+    private static <T> Collector<T, ?, List<T>> byDouble(int k, JToDoubleFunction<? super T> jToDoubleFunction, boolean top) {
+        checkK(k);
+        Objects.requireNonNull(jToDoubleFunction);
+        return Collector.of(() -> new DoubleHeap<T>(k, top), (heap, t) -> {
+            try {
+                heap.add(t, jToDoubleFunction.applyAsDouble(t));
+            }
+            catch (Exception e) {
+                throw ExceptionUtils.sneakyThrow(e);
+            }
+        }, (left, right) -> left.size >= right.size ? left.merge(right) : right.merge(left), DoubleHeap::finish, UNORDERED);
+    }
+
+    private static void checkK(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k必须大于0");
+        }
+    }
+
+    private static int grow(int length, int k) {
+        return (int) Math.min(k, Math.max(INITIAL_CAPACITY, (long) length << 1));
+    }
+
+    /**
+     * 按Comparator比较的堆，堆顶为最差的元素
+     */
+    private static final class ObjectHeap<T> {
+
+        private final int k;
+
+        private final Comparator<? super T> comparator;
+
+        private final boolean top;
+
+        private Object[] items;
+
+        private int size;
+
+        ObjectHeap(int k, Comparator<? super T> comparator, boolean top) {
+            this.k = k;
+            this.comparator = comparator;
+            this.top = top;
+            this.items = new Object[Math.min(k, INITIAL_CAPACITY)];
+        }
+
+        @SuppressWarnings("unchecked")
+        void add(T item) {
+            if (size < k) {
+                if (size == items.length) {
+                    items = Arrays.copyOf(items, grow(items.length, k));
+                }
+                items[size] = item;
+                siftUp(size++);
+            }
+            else if (worse((T) items[0], item)) {
+                items[0] = item;
+                siftDown(0);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        ObjectHeap<T> merge(ObjectHeap<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                add((T) other.items[i]);
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> finish() {
+            Object[] result = new Object[size];
+            // 依次取出堆顶（最差的元素）从后往前放
+            while (size > 0) {
+                result[size - 1] = items[0];
+                items[0] = items[--size];
+                items[size] = null;
+                siftDown(0);
+            }
+            return (List<T>) Arrays.asList(result);
+        }
+
+        private boolean worse(T a, T b) {
+            int compare = comparator.compare(a, b);
+            return top ? compare < 0 : compare > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void siftUp(int index) {
+            Object item = items[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!worse((T) item, (T) items[parent])) {
+                    break;
+                }
+                items[index] = items[parent];
+                index = parent;
+            }
+            items[index] = item;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void siftDown(int index) {
+            if (size == 0) {
+                return;
+            }
+            Object item = items[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int child = (index << 1) + 1;
+                int right = child + 1;
+                if (right < size && worse((T) items[right], (T) items[child])) {
+                    child = right;
+                }
+                if (!worse((T) items[child], (T) item)) {
+                    break;
+                }
+                items[index] = items[child];
+                index = child;
+            }
+            items[index] = item;
+        }
+    }
+
+    /**
+     * 按long分数比较的堆，分数与元素放在两个平行数组中
+     */
+    private static final class LongHeap<T> {
+
+        private final int k;
+
+        private final boolean top;
+
+        private long[] scores;
+
+        private Object[] items;
+
+        private int size;
+
+        LongHeap(int k, boolean top) {
+            this.k = k;
+            this.top = top;
+            int capacity = Math.min(k, INITIAL_CAPACITY);
+            this.scores = new long[capacity];
+            this.items = new Object[capacity];
+        }
+
+        void add(Object item, long score) {
+            if (size < k) {
+                if (size == items.length) {
+                    int capacity = grow(items.length, k);
+                    scores = Arrays.copyOf(scores, capacity);
+                    items = Arrays.copyOf(items, capacity);
+                }
+                scores[size] = score;
+                items[size] = item;
+                siftUp(size++);
+            }
+            else if (worse(scores[0], score)) {
+                scores[0] = score;
+                items[0] = item;
+                siftDown(0);
+            }
+        }
+
+        LongHeap<T> merge(LongHeap<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.items[i], other.scores[i]);
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> finish() {
+            Object[] result = new Object[size];
+            while (size > 0) {
+                result[size - 1] = items[0];
+                size--;
+                scores[0] = scores[size];
+                items[0] = items[size];
+                items[size] = null;
+                siftDown(0);
+            }
+            return (List<T>) Arrays.asList(result);
+        }
+
+        private boolean worse(long a, long b) {
+            return top ? a < b : a > b;
+        }
+
+        private void siftUp(int index) {
+            long score = scores[index];
+            Object item = items[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!worse(score, scores[parent])) {
+                    break;
+                }
+                scores[index] = scores[parent];
+                items[index] = items[parent];
+                index = parent;
+            }
+            scores[index] = score;
+            items[index] = item;
+        }
+
+        private void siftDown(int index) {
+            if (size == 0) {
+                return;
+            }
+            long score = scores[index];
+            Object item = items[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int child = (index << 1) + 1;
+                int right = child + 1;
+                if (right < size && worse(scores[right], scores[child])) {
+                    child = right;
+                }
+                if (!worse(scores[child], score)) {
+                    break;
+                }
+                scores[index] = scores[child];
+                items[index] = items[child];
+                index = child;
+            }
+            scores[index] = score;
+            items[index] = item;
+        }
+    }
+
+    /**
+     * 按double分数比较的堆，分数与元素放在两个平行数组中
+     */
+    private static final class DoubleHeap<T> {
+
+        private final int k;
+
+        private final boolean top;
+
+        private double[] scores;
+
+        private Object[] items;
+
+        private int size;
+
+        DoubleHeap(int k, boolean top) {
+            this.k = k;
+            this.top = top;
+            int capacity = Math.min(k, INITIAL_CAPACITY);
+            this.scores = new double[capacity];
+            this.items = new Object[capacity];
+        }
+
+        void add(Object item, double score) {
+            if (size < k) {
+                if (size == items.length) {
+                    int capacity = grow(items.length, k);
+                    scores = Arrays.copyOf(scores, capacity);
+                    items = Arrays.copyOf(items, capacity);
+                }
+                scores[size] = score;
+                items[size] = item;
+                siftUp(size++);
+            }
+            else if (worse(scores[0], score)) {
+                scores[0] = score;
+                items[0] = item;
+                siftDown(0);
+            }
+        }
+
+        DoubleHeap<T> merge(DoubleHeap<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.items[i], other.scores[i]);
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> finish() {
+            Object[] result = new Object[size];
+            while (size > 0) {
+                result[size - 1] = items[0];
+                size--;
+                scores[0] = scores[size];
+                items[0] = items[size];
+                items[size] = null;
+                siftDown(0);
+            }
+            return (List<T>) Arrays.asList(result);
+        }
+
+        private boolean worse(double a, double b) {
+            int compare = Double.compare(a, b);
+            return top ? compare < 0 : compare > 0;
+        }
+
+        private void siftUp(int index) {
+            double score = scores[index];
+            Object item = items[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!worse(score, scores[parent])) {
+                    break;
+                }
+                scores[index] = scores[parent];
+                items[index] = items[parent];
+                index = parent;
+            }
+            scores[index] = score;
+            items[index] = item;
+        }
+
+        private void siftDown(int index) {
+            if (size == 0) {
+                return;
+            }
+            double score = scores[index];
+            Object item = items[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int child = (index << 1) + 1;
+                int right = child + 1;
+                if (right < size && worse(scores[right], scores[child])) {
+                    child = right;
+                }
+                if (!worse(scores[child], score)) {
+                    break;
+                }
+                scores[index] = scores[child];
+                items[index] = items[child];
+                index = child;
+            }
+            scores[index] = score;
+            items[index] = item;
+        }
+    }
+}
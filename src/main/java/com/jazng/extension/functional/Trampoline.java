@@ -0,0 +1,274 @@
+package com.jazng.extension.functional;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @author JJ_yo
+ * 蹦床（trampoline）
+ * 把递归调用表示成堆上的对象，由run()在循环中逐步执行，递归深度不再受线程栈大小限制；
+ * 配合fix()系列方法可以把递归的JFunction/JBiFunction写成不会StackOverflowError的形式，并可选择缓存子问题的结果；
+ * 一个参数和两个参数的版本写法相同：body接收函数自身self，返回函数体。
+ * 计算过程中抛出的异常原样从run()抛出
+ * 例：
+ * JFunction&lt;Integer, Long&gt; fib = Trampoline.fixMemoized(self -&gt; n -&gt; n &lt; 2
+ *         ? Trampoline.done((long) n)
+ *         : self.apply(n - 1).flatMap(a -&gt; self.apply(n - 2).map(b -&gt; a + b)));
+ * 2026-10-19 14:00
+ * @version: 1.0
+ */
+public abstract class Trampoline<T> {
+
+    private Trampoline() {
+    }
+
+    /**
+     * 已完成的计算
+     *
+     * @param value 结果
+     * @param <T>   泛型
+     * @return 返回值
+     */
+    public static <T> Trampoline<T> done(T value) {
+        return new Done<>(value);
+    }
+
+    /**
+     * 延迟的计算，由run()在循环中展开，而不是在当前栈上展开
+     *
+     * @param next 下一步
+     * @param <T>  泛型
+     * @return 返回值
+     */
+    public static <T> Trampoline<T> more(JSupplier<Trampoline<T>> next) {
+        return new More<>(Objects.requireNonNull(next));
+    }
+
+    /**
+     * 在本计算完成后继续计算
+     *
+     * @param after 后续计算
+     * @param <R>   泛型
+     * @return 返回值
+     */
+    public <R> Trampoline<R> flatMap(JFunction<? super T, Trampoline<R>> after) {
+        return new FlatMap<>(this, Objects.requireNonNull(after));
+    }
+
+    /**
+     * 对本计算的结果做转换
+     *
+     * @param after 转换
+     * @param <R>   泛型
+     * @return 返回值
+     */
+    public <R> Trampoline<R> map(JFunction<? super T, ? extends R> after) {
+        Objects.requireNonNull(after);
+        return new FlatMap<T, R>(this, t -> done(after.apply(t)));
+    }
+
+    /**
+     * 执行计算，整个过程只占用固定深度的线程栈
+     *
+     * @return 返回值
+     * @throws Exception 计算过程中抛出的原始异常
+     */
+    @SuppressWarnings("unchecked")
+    public T run() throws Exception {
+        ArrayDeque<JFunction<Object, Trampoline<Object>>> continuations = new ArrayDeque<>();
+        Trampoline<Object> current = (Trampoline<Object>) this;
+        for (;;) {
+            if (current instanceof Done) {
+                JFunction<Object, Trampoline<Object>> next = continuations.pollFirst();
+                if (next == null) {
+                    return (T) ((Done<Object>) current).value;
+                }
+                current = next.apply(((Done<Object>) current).value);
+            }
+            else if (current instanceof More) {
+                current = ((More<Object>) current).next.get();
+            }
+            else {
+                FlatMap<Object, Object> flatMap = (FlatMap<Object, Object>) current;
+                continuations.push((JFunction<Object, Trampoline<Object>>) (JFunction<?, ?>) flatMap.after);
+                current = flatMap.source;
+            }
+        }
+    }
+
+    /****************************************************************************************************/
+
+    /**
+     * 不动点组合子：body接收函数自身self，返回函数体，递归调用self不会占用线程栈
+     *
+     * @param body 函数体
+     * @param <T>  泛型
+     * @param <R>  泛型
+     * @return 返回值
+     */
+    public static <T, R> JFunction<T, R> fix(JFunction<JFunction<T, Trampoline<R>>, JFunction<T, Trampoline<R>>> body) {
+        Objects.requireNonNull(body);
+        return t -> recursive(body, null).apply(t).run();
+    }
+
+    /**
+     * 不动点组合子，每次调用期间缓存子问题的结果，适用于存在重叠子问题的递归；结果为null时不缓存
+     *
+     * @param body 函数体
+     * @param <T>  泛型
+     * @param <R>  泛型
+     * @return 返回值
+     */
+    public static <T, R> JFunction<T, R> fixMemoized(JFunction<JFunction<T, Trampoline<R>>, JFunction<T, Trampoline<R>>> body) {
+        Objects.requireNonNull(body);
+        return t -> recursive(body, new HashMap<>()).apply(t).run();
+    }
+
+    /**
+     * 不动点组合子，子问题的结果缓存在cache中，可在多次调用之间共享；多线程调用时cache需要是线程安全的，结果为null时不缓存
+     *
+     * @param body  函数体
+     * @param cache 缓存
+     * @param <T>   泛型
+     * @param <R>   泛型
+     * @return 返回值
+     */
+    public static <T, R> JFunction<T, R> fixMemoized(JFunction<JFunction<T, Trampoline<R>>, JFunction<T, Trampoline<R>>> body,
+                                                     Map<T, R> cache) {
+        Objects.requireNonNull(body);
+        Objects.requireNonNull(cache);
+        return t -> recursive(body, cache).apply(t).run();
+    }
+
+    /**
+     * 两个参数的不动点组合子：与fix()写法相同，body接收函数自身self，返回函数体
+     *
+     * @param body 函数体
+     * @param <T>  泛型
+     * @param <U>  泛型
+     * @param <R>  泛型
+     * @return 返回值
+     */
+    public static <T, U, R> JBiFunction<T, U, R> fixBi(
+            JFunction<JBiFunction<T, U, Trampoline<R>>, JBiFunction<T, U, Trampoline<R>>> body) {
+        Objects.requireNonNull(body);
+        return (t, u) -> recursiveBi(body, null).apply(t, u).run();
+    }
+
+    /**
+     * 两个参数的不动点组合子，每次调用期间缓存子问题的结果；结果为null时不缓存
+     *
+     * @param body 函数体
+     * @param <T>  泛型
+     * @param <U>  泛型
+     * @param <R>  泛型
+     * @return 返回值
+     */
+    public static <T, U, R> JBiFunction<T, U, R> fixBiMemoized(
+            JFunction<JBiFunction<T, U, Trampoline<R>>, JBiFunction<T, U, Trampoline<R>>> body) {
+        Objects.requireNonNull(body);
+        return (t, u) -> recursiveBi(body, new HashMap<>()).apply(t, u).run();
+    }
+
+    private static <T, R> JFunction<T, Trampoline<R>> recursive(
+            JFunction<JFunction<T, Trampoline<R>>, JFunction<T, Trampoline<R>>> body,
+            Map<T, R> cache) throws Exception {
+        Recursive<T, R> self = new Recursive<>();
+        JFunction<T, Trampoline<R>> function = Objects.requireNonNull(body.apply(self));
+        self.delegate = cache == null
+                ? t -> more(() -> function.apply(t))
+                : t -> {
+                    R cached = cache.get(t);
+                    if (cached != null) {
+                        return done(cached);
+                    }
+                    return more(() -> function.apply(t)).map(r -> {
+                        if (r != null) {
+                            cache.put(t, r);
+                        }
+                        return r;
+                    });
+                };
+        return self;
+    }
+
+    private static <T, U, R> JBiFunction<T, U, Trampoline<R>> recursiveBi(
+            JFunction<JBiFunction<T, U, Trampoline<R>>, JBiFunction<T, U, Trampoline<R>>> body,
+            Map<List<Object>, R> cache) throws Exception {
+        RecursiveBi<T, U, R> self = new RecursiveBi<>();
+        JBiFunction<T, U, Trampoline<R>> function = Objects.requireNonNull(body.apply(self));
+        self.delegate = cache == null
+                ? (t, u) -> more(() -> function.apply(t, u))
+                : (t, u) -> {
+                    List<Object> key = Arrays.asList(t, u);
+                    R cached = cache.get(key);
+                    if (cached != null) {
+                        return done(cached);
+                    }
+                    return more(() -> function.apply(t, u)).map(r -> {
+                        if (r != null) {
+                            cache.put(key, r);
+                        }
+                        return r;
+                    });
+                };
+        return self;
+    }
+
+    private static final class Done<T> extends Trampoline<T> {
+
+        final T value;
+
+        Done(T value) {
+            this.value = value;
+        }
+    }
+
+    private static final class More<T> extends Trampoline<T> {
+
+        final JSupplier<Trampoline<T>> next;
+
+        More(JSupplier<Trampoline<T>> next) {
+            this.next = next;
+        }
+    }
+
+    private static final class FlatMap<S, T> extends Trampoline<T> {
+
+        final Trampoline<S> source;
+
+        final JFunction<? super S, Trampoline<T>> after;
+
+        FlatMap(Trampoline<S> source, JFunction<? super S, Trampoline<T>> after) {
+            this.source = source;
+            this.after = after;
+        }
+    }
+
+    /**
+     * 递归引用自身的函数，delegate在构造完成后赋值
+     */
+    private static final class Recursive<T, R> implements JFunction<T, Trampoline<R>> {
+
+        JFunction<T, Trampoline<R>> delegate;
+
+        @Override
+        public Trampoline<R> apply(T t) throws Exception {
+            return delegate.apply(t);
+        }
+    }
+
+    private static final class RecursiveBi<T, U, R> implements JBiFunction<T, U, Trampoline<R>> {
+
+        JBiFunction<T, U, Trampoline<R>> delegate;
+
+        @Override
+        public Trampoline<R> apply(T t, U u) throws Exception {
+            return delegate.apply(t, u);
+        }
+    }
+}
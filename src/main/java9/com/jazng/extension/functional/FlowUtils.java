@@ -0,0 +1,579 @@
+package com.jazng.extension.functional;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author JJ_yo
+ * java.util.concurrent.Flow适配工具类（JDK 9及以上）
+ * 用自定义函数式接口构建Flow.Processor/Flow.Subscriber，不再需要先用allowThrowException()包装：
+ * 只在下游request(n)后才向下游发送元素，向上游按批request(n)（已消费批大小的3/4时补充），而不是逐个request(1)；
+ * 函数抛出的异常默认通过onError结束整个流并取消上游，也可以交给逐元素的errorHandler处理，处理后跳过该元素继续。
+ * 本类单独打包为classifier为jdk9的jar（用JDK 9及以上构建时生成），主jar中没有本类，JDK 8上不可用
+ * 2026-10-19 16:40
+ * @version: 1.0
+ */
+public final class FlowUtils {
+
+    /**
+     * 过滤掉的元素
+     */
+    private static final Object SKIP = new Object();
+
+    private FlowUtils() {
+    }
+
+    /**************************************** Processor ****************************************/
+
+    /**
+     * 逐个转换元素，jFunction抛出异常时通过onError结束流
+     *
+     * @param jFunction 自定义函数式接口，不能返回null
+     * @param batchSize 每批向上游请求的元素数
+     * @param <T>       泛型
+     * @param <R>       泛型
+     * @return 返回值
+     */
+    public static <T, R> Flow.Processor<T, R> map(JFunction<? super T, ? extends R> jFunction, int batchSize) {
+        return map(jFunction, null, batchSize);
+    }
+
+    /**
+     * 逐个转换元素，jFunction抛出异常时把元素及原始异常交给errorHandler，然后跳过该元素；errorHandler为null或本身抛出异常时通过onError结束流
+     *
+     * @param jFunction    自定义函数式接口，不能返回null
+     * @param errorHandler 逐元素的异常处理
+     * @param batchSize    每批向上游请求的元素数
+     * @param <T>          泛型
+     * @param <R>          泛型
+     * @return 返回值
+     */
+    public static <T, R> Flow.Processor<T, R> map(JFunction<? super T, ? extends R> jFunction,
+                                                  JBiConsumer<? super T, ? super Throwable> errorHandler, int batchSize) {
+        Objects.requireNonNull(jFunction);
+        return new FlowProcessor<>(jFunction, null, errorHandler, batchSize);
+    }
+
+    /**
+     * 过滤元素，jPredicate抛出异常时通过onError结束流
+     *
+     * @param jPredicate 自定义函数式接口
+     * @param batchSize  每批向上游请求的元素数
+     * @param <T>        泛型
+     * @return 返回值
+     */
+    public static <T> Flow.Processor<T, T> filter(JPredicate<? super T> jPredicate, int batchSize) {
+        return filter(jPredicate, null, batchSize);
+    }
+
+    /**
+     * 过滤元素，jPredicate抛出异常时把元素及原始异常交给errorHandler，然后跳过该元素
+     *
+     * @param jPredicate   自定义函数式接口
+     * @param errorHandler 逐元素的异常处理
+     * @param batchSize    每批向上游请求的元素数
+     * @param <T>          泛型
+     * @return 返回值
+     */
+    public static <T> Flow.Processor<T, T> filter(JPredicate<? super T> jPredicate,
+                                                  JBiConsumer<? super T, ? super Throwable> errorHandler, int batchSize) {
+        Objects.requireNonNull(jPredicate);
+        JFunction<T, Object> jFunction = item -> jPredicate.test(item) ? item : SKIP;
+        return new FlowProcessor<>(jFunction, null, errorHandler, batchSize);
+    }
+
+    /**
+     * 在executor中异步转换元素，同一时刻最多maxConcurrency个调用在执行，结果按上游的顺序发送；jFunction抛出异常时通过onError结束流
+     *
+     * @param jFunction      自定义函数式接口，不能返回null
+     * @param maxConcurrency 同时执行的调用数上限，也是向上游请求的批大小
+     * @param executor       线程池
+     * @param <T>            泛型
+     * @param <R>            泛型
+     * @return 返回值
+     */
+    public static <T, R> Flow.Processor<T, R> mapAsync(JFunction<? super T, ? extends R> jFunction, int maxConcurrency,
+                                                       Executor executor) {
+        return mapAsync(jFunction, null, maxConcurrency, executor);
+    }
+
+    /**
+     * 在executor中异步转换元素，jFunction抛出异常时把元素及原始异常交给errorHandler，然后跳过该元素
+     *
+     * @param jFunction      自定义函数式接口，不能返回null
+     * @param errorHandler   逐元素的异常处理
+     * @param maxConcurrency 同时执行的调用数上限，也是向上游请求的批大小
+     * @param executor       线程池
+     * @param <T>            泛型
+     * @param <R>            泛型
+     * @return 返回值
+     */
+    public static <T, R> Flow.Processor<T, R> mapAsync(JFunction<? super T, ? extends R> jFunction,
+                                                       JBiConsumer<? super T, ? super Throwable> errorHandler, int maxConcurrency,
+                                                       Executor executor) {
+        Objects.requireNonNull(jFunction);
+        return new FlowProcessor<>(jFunction, Objects.requireNonNull(executor), errorHandler, maxConcurrency);
+    }
+
+    /**************************************** Subscriber ****************************************/
+
+    /**
+     * 订阅publisher，逐个消费元素；返回的CompletableFuture在流结束时完成，jConsumer或上游的异常原样作为异常完成的原因，取消它会取消订阅
+     *
+     * @param publisher 发布者
+     * @param jConsumer 自定义函数式接口
+     * @param batchSize 每批向上游请求的元素数
+     * @param <T>       泛型
+     * @return 返回值
+     */
+    public static <T> CompletableFuture<Void> forEach(Flow.Publisher<? extends T> publisher, JConsumer<? super T> jConsumer,
+                                                      int batchSize) {
+        return forEach(publisher, jConsumer, null, batchSize);
+    }
+
+    /**
+     * 订阅publisher，逐个消费元素；jConsumer抛出异常时把元素及原始异常交给errorHandler，然后继续消费
+     *
+     * @param publisher    发布者
+     * @param jConsumer    自定义函数式接口
+     * @param errorHandler 逐元素的异常处理
+     * @param batchSize    每批向上游请求的元素数
+     * @param <T>          泛型
+     * @return 返回值
+     */
+    public static <T> CompletableFuture<Void> forEach(Flow.Publisher<? extends T> publisher, JConsumer<? super T> jConsumer,
+                                                      JBiConsumer<? super T, ? super Throwable> errorHandler, int batchSize) {
+        FlowSink<T> sink = new FlowSink<>(Objects.requireNonNull(jConsumer), errorHandler, batchSize);
+        publisher.subscribe(sink);
+        return sink.future;
+    }
+
+    /****************************************************************************************************/
+
+    private static int checkBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize必须大于0");
+        }
+        return batchSize;
+    }
+
+    /**
+     * 已消费批大小的3/4时向上游补充请求
+     */
+    private static int replenishLimit(int batchSize) {
+        return batchSize - (batchSize >> 2);
+    }
+
+    private static void addRequested(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return;
+            }
+            long next = current + n;
+            if (requested.compareAndSet(current, next < 0L ? Long.MAX_VALUE : next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 转换失败的结果
+     */
+    private static final class Failure {
+
+        final Throwable error;
+
+        Failure(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    /**
+     * 按上游顺序排队的元素，result为null表示尚未转换完成
+     */
+    private static final class Slot<T> {
+
+        final T item;
+
+        volatile Object result;
+
+        Slot(T item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * 单播的Processor：上游元素按顺序进入队列（异步转换时同时提交给executor），
+     * 由drain()串行地把队列头部已完成的结果按下游的需求发送出去；所有信号都只通过drain()发给下游
+     */
+    private static final class FlowProcessor<T, R> implements Flow.Processor<T, R> {
+
+        final JFunction<? super T, ?> function;
+
+        final Executor executor;
+
+        final JBiConsumer<? super T, ? super Throwable> errorHandler;
+
+        final int batchSize;
+
+        final int limit;
+
+        final Queue<Slot<T>> queue = new ConcurrentLinkedQueue<>();
+
+        final AtomicInteger wip = new AtomicInteger();
+
+        final AtomicLong requested = new AtomicLong();
+
+        final AtomicBoolean subscribed = new AtomicBoolean();
+
+        final AtomicBoolean started = new AtomicBoolean();
+
+        volatile Flow.Subscription upstream;
+
+        volatile Flow.Subscriber<? super R> downstream;
+
+        /**
+         * 下游的onSubscribe()已返回
+         */
+        volatile boolean ready;
+
+        volatile boolean upstreamDone;
+
+        volatile Throwable error;
+
+        volatile boolean cancelled;
+
+        /**
+         * 以下字段只在drain()中访问
+         */
+        boolean terminated;
+
+        int consumed;
+
+        FlowProcessor(JFunction<? super T, ?> function, Executor executor, JBiConsumer<? super T, ? super Throwable> errorHandler,
+                      int batchSize) {
+            this.function = function;
+            this.executor = executor;
+            this.errorHandler = errorHandler;
+            this.batchSize = checkBatchSize(batchSize);
+            this.limit = replenishLimit(batchSize);
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super R> subscriber) {
+            Objects.requireNonNull(subscriber);
+            if (!subscribed.compareAndSet(false, true)) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("只支持一个Subscriber"));
+                return;
+            }
+            downstream = subscriber;
+            subscriber.onSubscribe(new Downstream());
+            ready = true;
+            start();
+            drain();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            Objects.requireNonNull(subscription);
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            start();
+        }
+
+        @Override
+        public void onNext(T item) {
+            Objects.requireNonNull(item);
+            if (upstreamDone || cancelled) {
+                return;
+            }
+            Slot<T> slot = new Slot<>(item);
+            queue.offer(slot);
+            if (executor == null) {
+                slot.result = apply(item);
+                drain();
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    slot.result = apply(item);
+                    drain();
+                });
+            }
+            catch (RejectedExecutionException e) {
+                slot.result = new Failure(e);
+                drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = Objects.requireNonNull(throwable);
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            drain();
+        }
+
+        /**
+         * 上下游都已订阅后，向上游请求第一批元素
+         */
+        private void start() {
+            Flow.Subscription subscription = upstream;
+            if (subscription != null && ready && started.compareAndSet(false, true)) {
+                subscription.request(batchSize);
+            }
+        }
+
+        private Object apply(T item) {
+            try {
+                Object result = function.apply(item);
+                return result == null ? new Failure(new NullPointerException("Flow中的元素不能为null")) : result;
+            }
+            catch (Throwable e) {
+                return new Failure(e);
+            }
+        }
+
+        private void cancelUpstream() {
+            Flow.Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (ready) {
+                    emit();
+                }
+                else if (cancelled) {
+                    queue.clear();
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void emit() {
+            Flow.Subscriber<? super R> subscriber = downstream;
+            long demand = requested.get();
+            long emitted = 0L;
+            for (;;) {
+                if (terminated || cancelled) {
+                    queue.clear();
+                    return;
+                }
+                Throwable e = error;
+                if (e != null) {
+                    terminated = true;
+                    queue.clear();
+                    subscriber.onError(e);
+                    return;
+                }
+                Slot<T> head = queue.peek();
+                if (head == null) {
+                    if (upstreamDone) {
+                        terminated = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    break;
+                }
+                Object result = head.result;
+                if (result == null) {
+                    break;
+                }
+                if (result instanceof Failure) {
+                    Throwable cause = ((Failure) result).error;
+                    if (errorHandler != null) {
+                        try {
+                            errorHandler.accept(head.item, cause);
+                            queue.poll();
+                            replenish();
+                            continue;
+                        }
+                        catch (Throwable handlerError) {
+                            cause = handlerError;
+                        }
+                    }
+                    terminated = true;
+                    queue.clear();
+                    cancelUpstream();
+                    subscriber.onError(cause);
+                    return;
+                }
+                if (result == SKIP) {
+                    queue.poll();
+                    replenish();
+                    continue;
+                }
+                if (emitted == demand) {
+                    break;
+                }
+                queue.poll();
+                subscriber.onNext((R) result);
+                emitted++;
+                replenish();
+            }
+            if (emitted != 0L && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+        }
+
+        private void replenish() {
+            if (++consumed == limit) {
+                consumed = 0;
+                upstream.request(limit);
+            }
+        }
+
+        private final class Downstream implements Flow.Subscription {
+
+            @Override
+            public void request(long n) {
+                if (n <= 0L) {
+                    error = new IllegalArgumentException("request(n)的n必须大于0");
+                    cancelUpstream();
+                }
+                else {
+                    addRequested(requested, n);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                cancelUpstream();
+                drain();
+            }
+        }
+    }
+
+    /**
+     * forEach()的Subscriber，Flow保证信号串行到达，不需要额外同步
+     */
+    private static final class FlowSink<T> implements Flow.Subscriber<T> {
+
+        final JConsumer<? super T> consumer;
+
+        final JBiConsumer<? super T, ? super Throwable> errorHandler;
+
+        final int batchSize;
+
+        final int limit;
+
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Flow.Subscription subscription;
+
+        int consumed;
+
+        boolean done;
+
+        FlowSink(JConsumer<? super T> consumer, JBiConsumer<? super T, ? super Throwable> errorHandler, int batchSize) {
+            this.consumer = consumer;
+            this.errorHandler = errorHandler;
+            this.batchSize = checkBatchSize(batchSize);
+            this.limit = replenishLimit(batchSize);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            Objects.requireNonNull(subscription);
+            if (this.subscription != null) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            future.whenComplete((value, e) -> {
+                if (future.isCancelled()) {
+                    subscription.cancel();
+                }
+            });
+            subscription.request(batchSize);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                consumer.accept(item);
+            }
+            catch (Throwable e) {
+                if (errorHandler == null) {
+                    fail(e);
+                    return;
+                }
+                try {
+                    errorHandler.accept(item, e);
+                }
+                catch (Throwable handlerError) {
+                    fail(handlerError);
+                    return;
+                }
+            }
+            if (++consumed == limit) {
+                consumed = 0;
+                subscription.request(limit);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                future.completeExceptionally(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                future.complete(null);
+            }
+        }
+
+        private void fail(Throwable e) {
+            done = true;
+            subscription.cancel();
+            future.completeExceptionally(e);
+        }
+    }
+}